@@ -0,0 +1,34 @@
+package com.pm.todoservice.config;
+
+import java.util.UUID;
+
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static void setCurrentUserId(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static UUID currentUserId() {
+        return CURRENT_USER.get();
+    }
+
+    // Set when the request carries a recent write marker from any instance.
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+        PINNED_TO_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pm.todoservice.config;
+
+import com.pm.todoservice.security.AuthContextArgumentResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.UUID;
+
+@Component
+public class DataSourceRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public DataSourceRoutingInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userIdHeader = request.getHeader(AuthContextArgumentResolver.USER_ID_HEADER);
+        if (userIdHeader != null && !userIdHeader.isBlank()) {
+            try {
+                DataSourceRoutingContext.setCurrentUserId(UUID.fromString(userIdHeader));
+            } catch (IllegalArgumentException ignored) {
+                // AuthContextArgumentResolver rejects the request; routing just falls back to the primary.
+            }
+        }
+        // The write may have gone through another instance, whose in-memory tracker this one cannot see.
+        if (readYourWritesTracker.hasRecentWrite(request)) {
+            DataSourceRoutingContext.pinToPrimary();
+        }
+        return true;
+    }
+
+    // Streaming responses continue on another thread; afterCompletion is not called for this dispatch.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        DataSourceRoutingContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        DataSourceRoutingContext.clear();
+    }
+}
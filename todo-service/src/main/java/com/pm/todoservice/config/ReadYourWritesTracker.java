@@ -0,0 +1,96 @@
+package com.pm.todoservice.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The in-memory map only covers writes made through this instance. The last-write cookie carries the marker to
+// whichever instance serves the client's next request; it holds wall-clock millis, so it assumes instance clocks
+// agree to well within the window.
+@Component
+public class ReadYourWritesTracker {
+
+    public static final String LAST_WRITE_COOKIE = "todo_last_write";
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final long windowMillis;
+    private final Map<UUID, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+        this.windowMillis = window.toMillis();
+    }
+
+    public void recordWrite(UUID userId) {
+        if (userId == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteByUser.put(userId, now);
+        if (lastWriteByUser.size() > PRUNE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    public boolean isPinnedToPrimary(UUID userId) {
+        if (userId == null || windowNanos <= 0) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWriteByUser.remove(userId, writtenAt);
+        return false;
+    }
+
+    // Sets the last-write cookie on the current response. No-op outside a request thread (schedulers, event
+    // streams) or once the response is committed.
+    public void markResponse() {
+        if (windowMillis <= 0 || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        // Rounded up to whole seconds; the timestamp check in hasRecentWrite is the exact bound.
+        cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+        response.addCookie(cookie);
+    }
+
+    public boolean hasRecentWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (windowMillis <= 0 || cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long writtenAt = Long.parseLong(cookie.getValue());
+                    return System.currentTimeMillis() - writtenAt < windowMillis;
+                } catch (NumberFormatException ignored) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pm.todoservice.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// Registers PostgreSQL full-text functions for todos. Arguments: title, description, tsquery text.
+public class TodoSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_FUNCTION = "todo_search_match";
+    public static final String RANK_FUNCTION = "todo_search_rank";
+
+    // Must match the expression of idx_todos_search_document (V2__todo_full_text_search.sql).
+    private static final String DOCUMENT = "(setweight(to_tsvector('simple', coalesce(?1, '')), 'A')"
+            + " || setweight(to_tsvector('simple', coalesce(?2, '')), 'B'))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_FUNCTION,
+                "(" + DOCUMENT + " @@ to_tsquery('simple', ?3))",
+                types.resolve(StandardBasicTypes.BOOLEAN)
+        );
+        functionContributions.getFunctionRegistry().registerPattern(
+                RANK_FUNCTION,
+                "ts_rank(" + DOCUMENT + ", to_tsquery('simple', ?3))",
+                types.resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.pm.todoservice.config;
 import com.pm.todoservice.security.AuthContextArgumentResolver;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -10,13 +11,23 @@ import java.util.List;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
     private final AuthContextArgumentResolver authContextArgumentResolver;
+    private final DataSourceRoutingInterceptor dataSourceRoutingInterceptor;
 
-    public WebMvcConfig(AuthContextArgumentResolver authContextArgumentResolver) {
+    public WebMvcConfig(
+            AuthContextArgumentResolver authContextArgumentResolver,
+            DataSourceRoutingInterceptor dataSourceRoutingInterceptor
+    ) {
         this.authContextArgumentResolver = authContextArgumentResolver;
+        this.dataSourceRoutingInterceptor = dataSourceRoutingInterceptor;
     }
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(authContextArgumentResolver);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataSourceRoutingInterceptor);
+    }
 }
@@ -3,6 +3,7 @@ package com.pm.todoservice.controller;
 import com.pm.todoservice.dto.*;
 import com.pm.todoservice.security.AuthContext;
 import com.pm.todoservice.service.BoardService;
+import com.pm.todoservice.service.BoardSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,9 +20,11 @@ import java.util.UUID;
 public class BoardController {
 
     private final BoardService boardService;
+    private final BoardSnapshotService boardSnapshotService;
 
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, BoardSnapshotService boardSnapshotService) {
         this.boardService = boardService;
+        this.boardSnapshotService = boardSnapshotService;
     }
 
     @PostMapping
@@ -48,6 +51,17 @@ public class BoardController {
         return ResponseEntity.ok(boardService.getBoard(boardId, authContext));
     }
 
+    @GetMapping("/{boardId}/snapshot")
+    @Operation(summary = "Get board with sections and their first todos in one request")
+    public ResponseEntity<BoardSnapshotDTO> getBoardSnapshot(
+            @PathVariable UUID boardId,
+            AuthContext authContext,
+            @RequestParam(defaultValue = "50") int todosPerSection,
+            @RequestParam(defaultValue = "false") boolean archived
+    ) {
+        return ResponseEntity.ok(boardSnapshotService.getBoardSnapshot(boardId, todosPerSection, archived, authContext));
+    }
+
     @PatchMapping("/{boardId}")
     @Operation(summary = "Update board")
     public ResponseEntity<BoardDTO> updateBoard(
@@ -79,6 +93,17 @@ public class BoardController {
         return ResponseEntity.ok(boardService.updateSection(boardId, sectionId, dto, authContext));
     }
 
+    @PatchMapping("/{boardId}/sections/{sectionId}/move")
+    @Operation(summary = "Move board section between its new neighbours")
+    public ResponseEntity<BoardSectionDTO> moveSection(
+            @PathVariable UUID boardId,
+            @PathVariable UUID sectionId,
+            AuthContext authContext,
+            @RequestBody BoardSectionMoveDTO dto
+    ) {
+        return ResponseEntity.ok(boardService.moveSection(boardId, sectionId, dto, authContext));
+    }
+
     @DeleteMapping("/{boardId}/sections/{sectionId}")
     @Operation(summary = "Delete board section")
     public ResponseEntity<Void> deleteSection(
@@ -0,0 +1,37 @@
+package com.pm.todoservice.controller;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Lets JsonStreamWriter write into a ResponseBodyEmitter: bytes are buffered and sent as one chunk per flush().
+public class EmitterOutputStream extends OutputStream {
+
+    private final ResponseBodyEmitter emitter;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    public EmitterOutputStream(ResponseBodyEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        buffer.write(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        emitter.send(buffer.toByteArray());
+        buffer.reset();
+    }
+}
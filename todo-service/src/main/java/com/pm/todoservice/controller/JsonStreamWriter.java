@@ -0,0 +1,66 @@
+package com.pm.todoservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// Writes items incrementally either as one JSON array or as newline-delimited JSON (one object per line).
+public class JsonStreamWriter {
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream outputStream;
+    private final boolean ndjson;
+    private boolean first = true;
+
+    public JsonStreamWriter(ObjectMapper objectMapper, OutputStream outputStream, boolean ndjson) {
+        this.objectMapper = objectMapper;
+        this.outputStream = outputStream;
+        this.ndjson = ndjson;
+    }
+
+    public void begin() {
+        if (!ndjson) {
+            write('[');
+        }
+    }
+
+    public void writeBatch(List<?> items) {
+        try {
+            for (Object item : items) {
+                if (!ndjson && !first) {
+                    outputStream.write(',');
+                }
+                outputStream.write(objectMapper.writeValueAsBytes(item));
+                if (ndjson) {
+                    outputStream.write('\n');
+                }
+                first = false;
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void end() {
+        if (!ndjson) {
+            write(']');
+        }
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(char c) {
+        try {
+            outputStream.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.pm.todoservice.controller;
+
+import com.pm.todoservice.dto.SyncResponseDTO;
+import com.pm.todoservice.security.AuthContext;
+import com.pm.todoservice.service.ChangeEventBus;
+import com.pm.todoservice.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "sync", description = "Incremental change feed for todos and boards")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final ChangeEventBus changeEventBus;
+
+    public SyncController(SyncService syncService, ChangeEventBus changeEventBus) {
+        this.syncService = syncService;
+        this.changeEventBus = changeEventBus;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get todos, boards and sections changed since the given sync token")
+    public ResponseEntity<SyncResponseDTO> sync(
+            AuthContext authContext,
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(syncService.sync(token, limit, authContext));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notices of committed changes as server-sent events; fetch the changes through sync")
+    public SseEmitter events(AuthContext authContext, @RequestParam(required = false) Set<UUID> boardId) {
+        return changeEventBus.subscribe(boardId, authContext);
+    }
+}
@@ -1,9 +1,18 @@
 package com.pm.todoservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.todoservice.config.DataSourceRoutingContext;
 import com.pm.todoservice.dto.SubtaskDTO;
 import com.pm.todoservice.dto.SubtaskPatchDTO;
 import com.pm.todoservice.dto.TodoActivityDTO;
+import com.pm.todoservice.dto.TodoActivityPageDTO;
+import com.pm.todoservice.dto.TodoBatchCreateDTO;
+import com.pm.todoservice.dto.TodoBulkRequestDTO;
+import com.pm.todoservice.dto.TodoBulkResultDTO;
+import com.pm.todoservice.dto.TodoCursorPageDTO;
 import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.dto.TodoFacetsDTO;
+import com.pm.todoservice.dto.TodoMoveDTO;
 import com.pm.todoservice.dto.TodoPatchDTO;
 import com.pm.todoservice.dto.TodoShareDTO;
 import com.pm.todoservice.dto.TodoShareRequestDTO;
@@ -11,17 +20,26 @@ import com.pm.todoservice.dto.TodoShareUpdateDTO;
 import com.pm.todoservice.model.Todo;
 import com.pm.todoservice.security.AuthContext;
 import com.pm.todoservice.service.TodoPageableFactory;
+import com.pm.todoservice.service.TodoQueryService;
 import com.pm.todoservice.service.TodoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.List;
 import java.util.UUID;
@@ -31,12 +49,24 @@ import java.util.UUID;
 @Tag(name = "todos", description = "API for managing Todos")
 public class TodoController {
 
+    private static final Logger log = LoggerFactory.getLogger(TodoController.class);
+    private static final int CREATED_WRITE_BATCH = 100;
+
     private final TodoService todoService;
     private final TodoPageableFactory todoPageableFactory;
+    private final ObjectMapper objectMapper;
+    private final Duration listStreamTimeout;
 
-    public TodoController(TodoService todoService, TodoPageableFactory todoPageableFactory) {
+    public TodoController(
+            TodoService todoService,
+            TodoPageableFactory todoPageableFactory,
+            ObjectMapper objectMapper,
+            @Value("${app.todos.stream.timeout:5m}") Duration listStreamTimeout
+    ) {
         this.todoService = todoService;
         this.todoPageableFactory = todoPageableFactory;
+        this.objectMapper = objectMapper;
+        this.listStreamTimeout = listStreamTimeout;
     }
 
     @PostMapping
@@ -49,6 +79,30 @@ public class TodoController {
         return new ResponseEntity<>(createdTodo, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create many Todos in one transaction; the created Todos are returned as a JSON array")
+    public ResponseEntity<StreamingResponseBody> createTodos(
+            AuthContext authContext,
+            @Valid @RequestBody TodoBatchCreateDTO batchDTO
+    ) {
+        List<TodoDTO> createdTodos = todoService.createTodos(batchDTO.getTodos(), authContext);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamCreated(createdTodos, false));
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create many Todos in one transaction; the created Todos are returned as NDJSON")
+    public ResponseEntity<StreamingResponseBody> createTodosAsNdjson(
+            AuthContext authContext,
+            @Valid @RequestBody TodoBatchCreateDTO batchDTO
+    ) {
+        List<TodoDTO> createdTodos = todoService.createTodos(batchDTO.getTodos(), authContext);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamCreated(createdTodos, true));
+    }
+
     @GetMapping
     @Operation(summary = "Get Todos")
     public ResponseEntity<Page<TodoDTO>> getAllTodos(
@@ -69,9 +123,33 @@ public class TodoController {
         return ResponseEntity.ok(todos);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get Todos with cursor pagination")
+    public ResponseEntity<TodoCursorPageDTO> getTodosByCursor(
+            AuthContext authContext,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Boolean archived,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID boardId,
+            @RequestParam(required = false) UUID sectionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        todoPageableFactory.validatePageSize(size);
+        Sort order = todoPageableFactory.buildSort(sort);
+        TodoCursorPageDTO todos = todoService.getTodosByCursor(
+                authContext, category, tag, completed, archived, search, boardId, sectionId, cursor, size, order, includeTotal
+        );
+        return ResponseEntity.ok(todos);
+    }
+
     @GetMapping("/list")
-    @Operation(summary = "Get Todos as list (without pagination)")
-    public ResponseEntity<List<TodoDTO>> getAllTodosAsList(
+    @Operation(summary = "Get Todos as list (without pagination), streamed as a JSON array")
+    public ResponseEntity<ResponseBodyEmitter> getAllTodosAsList(
             AuthContext authContext,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String tag,
@@ -83,8 +161,41 @@ public class TodoController {
             @RequestParam(defaultValue = "createdAt,desc") String sort
     ) {
         Sort order = todoPageableFactory.buildSort(sort);
-        List<TodoDTO> todos = todoService.getAllTodosList(authContext, category, tag, completed, archived, search, boardId, sectionId, order);
-        return ResponseEntity.ok(todos);
+        return streamTodos(authContext, category, tag, completed, archived, search, boardId, sectionId, order, MediaType.APPLICATION_JSON);
+    }
+
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Get Todos as list (without pagination), streamed as NDJSON")
+    public ResponseEntity<ResponseBodyEmitter> getAllTodosAsNdjson(
+            AuthContext authContext,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Boolean archived,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID boardId,
+            @RequestParam(required = false) UUID sectionId,
+            @RequestParam(defaultValue = "createdAt,desc") String sort
+    ) {
+        Sort order = todoPageableFactory.buildSort(sort);
+        return streamTodos(authContext, category, tag, completed, archived, search, boardId, sectionId, order, MediaType.APPLICATION_NDJSON);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Get tag and category counts of visible Todos")
+    public ResponseEntity<TodoFacetsDTO> getTodoFacets(
+            AuthContext authContext,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Boolean archived,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) UUID boardId,
+            @RequestParam(required = false) UUID sectionId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        TodoFacetsDTO facets = todoService.getTodoFacets(authContext, category, tag, completed, archived, search, boardId, sectionId, limit);
+        return ResponseEntity.ok(facets);
     }
 
     @GetMapping("/{id}")
@@ -139,6 +250,16 @@ public class TodoController {
         return ResponseEntity.ok(patchedTodo);
     }
 
+    @PatchMapping("/{id}/move")
+    @Operation(summary = "Move a Todo within or across sections")
+    public ResponseEntity<TodoDTO> moveTodo(
+            @PathVariable UUID id,
+            AuthContext authContext,
+            @RequestBody TodoMoveDTO moveDTO
+    ) {
+        return ResponseEntity.ok(todoService.moveTodo(id, moveDTO, authContext));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a Todo")
     public ResponseEntity<Void> deleteTodo(
@@ -149,6 +270,16 @@ public class TodoController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Apply one operation to many todos (complete, reopen, archive, restore, move, add tags, delete)")
+    public ResponseEntity<TodoBulkResultDTO> applyBulk(
+            AuthContext authContext,
+            @Valid @RequestBody TodoBulkRequestDTO requestDTO
+    ) {
+        TodoBulkResultDTO result = todoService.applyBulk(requestDTO, authContext);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/user/{userId}")
     @Operation(summary = "Delete all todos by userId")
     public ResponseEntity<Map<String, Long>> deleteAllTodosByUserId(
@@ -160,35 +291,47 @@ public class TodoController {
     }
 
     @PostMapping("/{id}/subtasks")
-    @Operation(summary = "Add subtask to todo")
-    public ResponseEntity<TodoDTO> addSubtask(
+    @Operation(summary = "Add subtask to todo (summary=true returns only the subtask and progress counters)")
+    public ResponseEntity<?> addSubtask(
             @PathVariable UUID id,
             AuthContext authContext,
-            @Valid @RequestBody SubtaskDTO subtaskDTO
+            @Valid @RequestBody SubtaskDTO subtaskDTO,
+            @RequestParam(defaultValue = "false") boolean summary
     ) {
+        if (summary) {
+            return ResponseEntity.ok(todoService.addSubtaskSummary(id, subtaskDTO, authContext));
+        }
         TodoDTO updatedTodo = todoService.addSubtask(id, subtaskDTO, authContext);
         return ResponseEntity.ok(updatedTodo);
     }
 
     @PatchMapping("/{id}/subtasks/{subtaskId}")
-    @Operation(summary = "Patch subtask")
-    public ResponseEntity<TodoDTO> patchSubtask(
+    @Operation(summary = "Patch subtask (summary=true returns only the subtask and progress counters)")
+    public ResponseEntity<?> patchSubtask(
             @PathVariable UUID id,
             @PathVariable UUID subtaskId,
             AuthContext authContext,
-            @RequestBody SubtaskPatchDTO patchDTO
+            @RequestBody SubtaskPatchDTO patchDTO,
+            @RequestParam(defaultValue = "false") boolean summary
     ) {
+        if (summary) {
+            return ResponseEntity.ok(todoService.patchSubtaskSummary(id, subtaskId, patchDTO, authContext));
+        }
         TodoDTO updatedTodo = todoService.patchSubtask(id, subtaskId, patchDTO, authContext);
         return ResponseEntity.ok(updatedTodo);
     }
 
     @DeleteMapping("/{id}/subtasks/{subtaskId}")
-    @Operation(summary = "Delete subtask")
-    public ResponseEntity<TodoDTO> deleteSubtask(
+    @Operation(summary = "Delete subtask (summary=true returns only the removed subtask and progress counters)")
+    public ResponseEntity<?> deleteSubtask(
             @PathVariable UUID id,
             @PathVariable UUID subtaskId,
-            AuthContext authContext
+            AuthContext authContext,
+            @RequestParam(defaultValue = "false") boolean summary
     ) {
+        if (summary) {
+            return ResponseEntity.ok(todoService.deleteSubtaskSummary(id, subtaskId, authContext));
+        }
         TodoDTO updatedTodo = todoService.deleteSubtask(id, subtaskId, authContext);
         return ResponseEntity.ok(updatedTodo);
     }
@@ -214,7 +357,7 @@ public class TodoController {
     }
 
     @GetMapping("/{id}/activity")
-    @Operation(summary = "Get todo activity history")
+    @Operation(summary = "Get the 100 newest todo activity entries (deprecated, use /{id}/activity/page)", deprecated = true)
     public ResponseEntity<List<TodoActivityDTO>> getTodoActivity(
             @PathVariable UUID id,
             AuthContext authContext
@@ -223,6 +366,20 @@ public class TodoController {
         return ResponseEntity.ok(activity);
     }
 
+    @GetMapping("/{id}/activity/page")
+    @Operation(summary = "Get todo activity history page (newest first, cursor pagination, optional changed-field filter)")
+    public ResponseEntity<TodoActivityPageDTO> getTodoActivityPage(
+            @PathVariable UUID id,
+            AuthContext authContext,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String field
+    ) {
+        todoPageableFactory.validatePageSize(size);
+        TodoActivityPageDTO activity = todoService.getTodoActivityPage(id, cursor, size, field, authContext);
+        return ResponseEntity.ok(activity);
+    }
+
     @GetMapping("/{id}/shares")
     @Operation(summary = "Get todo shares")
     public ResponseEntity<List<TodoShareDTO>> getTodoShares(
@@ -266,4 +423,57 @@ public class TodoController {
         todoService.removeShare(id, sharedUserId, authContext);
         return ResponseEntity.noContent().build();
     }
+
+    // The batch is committed and fully mapped before the body is written (at most 1000 todos per request, see
+    // TodoBatchCreateDTO); writing in chunks only keeps the serialized output from being buffered as one array.
+    private StreamingResponseBody streamCreated(List<TodoDTO> todos, boolean ndjson) {
+        return outputStream -> {
+            JsonStreamWriter writer = new JsonStreamWriter(objectMapper, outputStream, ndjson);
+            writer.begin();
+            for (int from = 0; from < todos.size(); from += CREATED_WRITE_BATCH) {
+                writer.writeBatch(todos.subList(from, Math.min(from + CREATED_WRITE_BATCH, todos.size())));
+            }
+            writer.end();
+        };
+    }
+
+    // The list is written from a virtual thread through an emitter, which carries its own timeout; rows are read
+    // chunk by chunk in short transactions (TodoQueryService.streamTodos), so no connection waits on the client.
+    private ResponseEntity<ResponseBodyEmitter> streamTodos(
+            AuthContext authContext,
+            String category,
+            String tag,
+            Boolean completed,
+            Boolean archived,
+            String search,
+            UUID boardId,
+            UUID sectionId,
+            Sort sort,
+            MediaType mediaType
+    ) {
+        TodoQueryService.TodoListPlan plan = todoService.planTodoList(
+                authContext, category, tag, completed, archived, search, boardId, sectionId, sort
+        );
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(listStreamTimeout.toMillis());
+        boolean ndjson = MediaType.APPLICATION_NDJSON.equals(mediaType);
+        Thread.ofVirtual().name("todo-list-stream").start(() -> {
+            // The replica routing context is per thread, so it has to be carried over.
+            DataSourceRoutingContext.setCurrentUserId(authContext.userId());
+            try {
+                JsonStreamWriter writer = new JsonStreamWriter(objectMapper, new EmitterOutputStream(emitter), ndjson);
+                writer.begin();
+                todoService.streamTodos(plan, writer::writeBatch);
+                writer.end();
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                // Client went away; the container completes the request.
+                log.debug("Todo list stream aborted: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            } finally {
+                DataSourceRoutingContext.clear();
+            }
+        });
+        return ResponseEntity.ok().contentType(mediaType).body(emitter);
+    }
 }
@@ -14,4 +14,5 @@ public class BoardSectionDTO {
     private UUID boardId;
     private String name;
     private Integer position;
+    private String rank;
 }
@@ -0,0 +1,16 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Sections that end up directly before/after the moved one; both null moves it to the end.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardSectionMoveDTO {
+    private UUID previousId;
+    private UUID nextId;
+}
@@ -0,0 +1,23 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Todos come in rank order without subtask lists (counts only); hasMore means the section was cut at the limit.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardSnapshotSectionDTO {
+    private UUID id;
+    private String name;
+    private Integer position;
+    private String rank;
+    private Long totalTodos = 0L;
+    private Boolean hasMore = false;
+    private List<TodoDTO> todos = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.pm.todoservice.dto;
+
+import com.pm.todoservice.model.enums.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Payload of a "change" server-sent event: what changed, not its content (fetch that through /api/sync).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeNoticeDTO {
+    private SyncEntityType type;
+    private UUID id;
+    private UUID boardId;
+    private Boolean deleted;
+}
@@ -0,0 +1,19 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubtaskChangeDTO {
+    private UUID todoId;
+    private SubtaskDTO subtask;
+    private Boolean deleted;
+    private Integer completedSubtasks;
+    private Integer totalSubtasks;
+    private Integer progressPercent;
+}
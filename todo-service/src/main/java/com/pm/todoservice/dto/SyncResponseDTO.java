@@ -0,0 +1,23 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records changed since the request token, in their current state. Todos carry their subtasks and share
+// metadata. resyncRequired means the token is missing or expired: reload everything, then poll with syncToken.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+    private String syncToken;
+    private Boolean hasMore = false;
+    private Boolean resyncRequired = false;
+    private List<TodoDTO> todos = new ArrayList<>();
+    private List<BoardDTO> boards = new ArrayList<>();
+    private List<BoardSectionDTO> sections = new ArrayList<>();
+    private List<SyncTombstoneDTO> deleted = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.pm.todoservice.dto;
+
+import com.pm.todoservice.model.enums.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Deleted, or no longer visible to the caller. A BOARD tombstone also drops that board's sections and todos.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneDTO {
+    private SyncEntityType type;
+    private UUID id;
+}
@@ -1,5 +1,6 @@
 package com.pm.todoservice.dto;
 
+import com.pm.todoservice.model.ActivityPayload;
 import com.pm.todoservice.model.enums.TodoActivityAction;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,5 +18,6 @@ public class TodoActivityDTO {
     private TodoActivityAction action;
     private UUID actorUserId;
     private String details;
+    private ActivityPayload payload;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,20 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoActivityPageDTO {
+
+    private List<TodoActivityDTO> items = new ArrayList<>();
+
+    private String nextCursor;
+
+    private boolean hasNext;
+}
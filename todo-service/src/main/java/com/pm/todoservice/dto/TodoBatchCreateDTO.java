@@ -0,0 +1,19 @@
+package com.pm.todoservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchCreateDTO {
+    @NotEmpty(message = "todos are required")
+    @Size(max = 1000, message = "At most 1000 todos per request")
+    private List<@Valid TodoDTO> todos;
+}
@@ -0,0 +1,16 @@
+package com.pm.todoservice.dto;
+
+import com.pm.todoservice.model.enums.TodoBulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkItemResultDTO {
+    private UUID id;
+    private TodoBulkItemStatus status;
+}
@@ -0,0 +1,31 @@
+package com.pm.todoservice.dto;
+
+import com.pm.todoservice.model.enums.TodoBulkOperation;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkRequestDTO {
+    @NotEmpty(message = "ids are required")
+    @Size(max = 1000, message = "At most 1000 ids per request")
+    private List<UUID> ids;
+
+    @NotNull(message = "operation is required")
+    private TodoBulkOperation operation;
+
+    // Target section for MOVE.
+    private UUID sectionId;
+
+    // Tags for ADD_TAGS.
+    private Set<String> tags;
+}
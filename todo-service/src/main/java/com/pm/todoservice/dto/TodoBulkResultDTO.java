@@ -0,0 +1,17 @@
+package com.pm.todoservice.dto;
+
+import com.pm.todoservice.model.enums.TodoBulkOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkResultDTO {
+    private TodoBulkOperation operation;
+    private int updated;
+    private List<TodoBulkItemResultDTO> results;
+}
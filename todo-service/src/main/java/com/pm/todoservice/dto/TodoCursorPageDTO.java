@@ -0,0 +1,23 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCursorPageDTO {
+
+    private List<TodoDTO> items = new ArrayList<>();
+
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    // Only populated when the caller asks for it; computing it costs a full count query.
+    private Long totalElements;
+}
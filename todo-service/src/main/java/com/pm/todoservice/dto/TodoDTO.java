@@ -40,6 +40,11 @@ public class TodoDTO {
     @Getter
     private UUID sectionId;
 
+    // Assigned by the server; change it through the move endpoint.
+    @Setter
+    @Getter
+    private String rank;
+
     @Setter
     @Getter
     private LocalDateTime dueDate;
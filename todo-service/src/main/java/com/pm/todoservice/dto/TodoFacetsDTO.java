@@ -0,0 +1,18 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoFacetsDTO {
+
+    private List<TodoFacetCountDTO> tags = new ArrayList<>();
+
+    private List<TodoFacetCountDTO> categories = new ArrayList<>();
+}
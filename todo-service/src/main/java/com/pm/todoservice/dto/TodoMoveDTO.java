@@ -0,0 +1,17 @@
+package com.pm.todoservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Target section (null keeps the current one) and the todos that end up directly before/after the moved one.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoMoveDTO {
+    private UUID sectionId;
+    private UUID previousId;
+    private UUID nextId;
+}
@@ -0,0 +1,6 @@
+package com.pm.todoservice.event;
+
+import java.util.UUID;
+
+public record BoardSectionRemovedEvent(UUID boardId, UUID sectionId) {
+}
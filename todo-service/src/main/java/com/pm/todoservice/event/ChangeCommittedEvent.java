@@ -0,0 +1,17 @@
+package com.pm.todoservice.event;
+
+import com.pm.todoservice.model.enums.SyncEntityType;
+
+import java.util.UUID;
+
+// One change_log row, built by ChangeLogRecorder and published on every instance by ChangeLogTailer once the row
+// is committed. Carries routing data only; subscribers fetch the record itself through the sync endpoint.
+public record ChangeCommittedEvent(
+        SyncEntityType entityType,
+        UUID entityId,
+        UUID ownerUserId,
+        UUID boardId,
+        UUID audienceUserId,
+        boolean deleted
+) {
+}
@@ -0,0 +1,23 @@
+package com.pm.todoservice.event;
+
+import com.pm.todoservice.model.Todo;
+
+import java.util.UUID;
+
+// Published inside the writing transaction; ChangeLogRecorder turns it into a change_log row, from which every
+// instance's listeners are fed (ChangeLogTailer).
+public record TodoChangedEvent(
+        UUID todoId,
+        UUID userId,
+        UUID sectionId,
+        boolean deleted
+) {
+
+    public static TodoChangedEvent updated(Todo todo) {
+        return new TodoChangedEvent(todo.getId(), todo.getUserId(), todo.getSectionId(), false);
+    }
+
+    public static TodoChangedEvent deleted(UUID todoId, UUID userId, UUID sectionId) {
+        return new TodoChangedEvent(todoId, userId, sectionId, true);
+    }
+}
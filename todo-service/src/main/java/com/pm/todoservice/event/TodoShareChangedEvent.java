@@ -0,0 +1,6 @@
+package com.pm.todoservice.event;
+
+import java.util.UUID;
+
+public record TodoShareChangedEvent(UUID todoId, UUID userId) {
+}
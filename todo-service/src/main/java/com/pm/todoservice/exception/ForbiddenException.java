@@ -4,4 +4,8 @@ public class ForbiddenException extends RuntimeException {
     public ForbiddenException(String message) {
         super(message);
     }
+
+    public ForbiddenException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,36 @@
+package com.pm.todoservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+// Stored as jsonb on todo_activity. Values are kept as strings so the diff stays format-stable across field types.
+// A FieldChange without from/to means the field changed but its values are not stored (long text such as the description).
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ActivityPayload(List<FieldChange> changes, ShareChange share, SubtaskRef subtask) {
+
+    public static ActivityPayload ofChanges(List<FieldChange> changes) {
+        return new ActivityPayload(List.copyOf(changes), null, null);
+    }
+
+    public static ActivityPayload ofShare(UUID userId, String permission, String previousPermission) {
+        return new ActivityPayload(null, new ShareChange(userId, permission, previousPermission), null);
+    }
+
+    public static ActivityPayload ofSubtask(UUID subtaskId, String title, List<FieldChange> changes) {
+        return new ActivityPayload(List.copyOf(changes), null, new SubtaskRef(subtaskId, title));
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record FieldChange(String field, String from, String to) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ShareChange(UUID userId, String permission, String previousPermission) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record SubtaskRef(UUID id, String title) {
+    }
+}
@@ -24,6 +24,10 @@ public class BoardSection {
     @Column(nullable = false, length = 120)
     private String name;
 
+    // Legacy client-supplied ordering; sections are ordered by rank.
     @Column(name = "position", nullable = false)
     private Integer position = 0;
+
+    @Column(name = "rank", length = 128)
+    private String rank;
 }
@@ -4,6 +4,7 @@ import com.pm.todoservice.model.enums.TodoPriority;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -78,17 +79,25 @@ public class Todo {
     @Setter
     @Getter
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "todo_tags", joinColumns = @JoinColumn(name = "todo_id"))
-    @Column(name = "tag", length = 50)
+    @Column(name = "tag", length = 50, nullable = false)
     private Set<String> tags = new HashSet<>();
 
     @Setter
     @Getter
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "todo_id")
-    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    @JoinColumn(name = "todo_id", nullable = false)
+    @OrderBy("position ASC, id ASC")
     private List<TodoSubtask> subtasks = new ArrayList<>();
 
+    // Order within the section (RankKeys); null outside sections and until a pending rebalance assigns one.
+    @Setter
+    @Getter
+    @Column(name = "rank", length = 128)
+    private String rank;
+
     @Setter
     @Getter
     @Column(name = "archived")
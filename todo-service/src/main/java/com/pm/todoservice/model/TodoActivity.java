@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -30,9 +32,14 @@ public class TodoActivity {
     @Column(name = "actor_user_id")
     private UUID actorUserId;
 
+    // Free-text description; only rows written before the structured payload existed have it.
     @Column(name = "details", length = 2000)
     private String details;
 
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private ActivityPayload payload;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
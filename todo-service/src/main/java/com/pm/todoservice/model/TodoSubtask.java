@@ -14,6 +14,9 @@ import java.util.UUID;
 @NoArgsConstructor
 public class TodoSubtask {
 
+    // Sparse ordering: appends take max + gap, so inserts and deletes never renumber siblings.
+    public static final long POSITION_GAP = 1024;
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -24,6 +27,13 @@ public class TodoSubtask {
     @Column(name = "subtask_completed", nullable = false)
     private Boolean completed = false;
 
+    @Column(name = "position", nullable = false)
+    private Long position;
+
+    // Written through Todo.subtasks; mapped here read-only so single subtasks can be queried by todo.
+    @Column(name = "todo_id", insertable = false, updatable = false)
+    private UUID todoId;
+
     public TodoSubtask(String title, Boolean completed) {
         this.title = title;
         this.completed = completed;
@@ -0,0 +1,7 @@
+package com.pm.todoservice.model.enums;
+
+public enum SyncEntityType {
+    TODO,
+    BOARD,
+    BOARD_SECTION
+}
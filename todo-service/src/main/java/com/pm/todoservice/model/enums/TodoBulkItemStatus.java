@@ -0,0 +1,8 @@
+package com.pm.todoservice.model.enums;
+
+public enum TodoBulkItemStatus {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    FORBIDDEN
+}
@@ -0,0 +1,11 @@
+package com.pm.todoservice.model.enums;
+
+public enum TodoBulkOperation {
+    COMPLETE,
+    REOPEN,
+    ARCHIVE,
+    RESTORE,
+    MOVE,
+    ADD_TAGS,
+    DELETE
+}
@@ -2,12 +2,18 @@ package com.pm.todoservice.repository;
 
 import com.pm.todoservice.model.Board;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface BoardRepository extends JpaRepository<Board, UUID> {
     List<Board> findByOwnerUserId(UUID ownerUserId);
+
+    @Query("select b.id from Board b where b.ownerUserId = :ownerUserId")
+    Set<UUID> findIdsByOwnerUserId(@Param("ownerUserId") UUID ownerUserId);
 }
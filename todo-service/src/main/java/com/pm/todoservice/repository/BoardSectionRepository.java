@@ -14,10 +14,27 @@ import java.util.UUID;
 @Repository
 public interface BoardSectionRepository extends JpaRepository<BoardSection, UUID> {
 
-    List<BoardSection> findByBoardIdOrderByPositionAsc(UUID boardId);
+    List<BoardSection> findByBoardIdOrderByRankAscIdAsc(UUID boardId);
 
-    List<BoardSection> findByBoardIdIn(Collection<UUID> boardIds);
+    List<BoardSection> findByBoardIdInOrderByRankAscIdAsc(Collection<UUID> boardIds);
 
     @Query("select s.id from BoardSection s where s.boardId in :boardIds")
     Set<UUID> findIdsByBoardIdIn(@Param("boardIds") Collection<UUID> boardIds);
+
+    // Neighbour lookups for RankService, served by idx_board_sections_board_rank.
+
+    @Query("select s.rank from BoardSection s where s.id = :id and s.boardId = :boardId")
+    List<String> findRank(@Param("boardId") UUID boardId, @Param("id") UUID id);
+
+    @Query("select max(s.rank) from BoardSection s where s.boardId = :boardId")
+    String findLastRank(@Param("boardId") UUID boardId);
+
+    @Query("select max(s.rank) from BoardSection s where s.boardId = :boardId and s.id <> :excludedId")
+    String findLastRankExcluding(@Param("boardId") UUID boardId, @Param("excludedId") UUID excludedId);
+
+    @Query("select min(s.rank) from BoardSection s where s.boardId = :boardId and s.rank > :rank and s.id <> :excludedId")
+    String findNextRank(@Param("boardId") UUID boardId, @Param("rank") String rank, @Param("excludedId") UUID excludedId);
+
+    @Query("select max(s.rank) from BoardSection s where s.boardId = :boardId and s.rank < :rank and s.id <> :excludedId")
+    String findPreviousRank(@Param("boardId") UUID boardId, @Param("rank") String rank, @Param("excludedId") UUID excludedId);
 }
@@ -2,6 +2,7 @@ package com.pm.todoservice.repository;
 
 import com.pm.todoservice.model.BoardShare;
 import com.pm.todoservice.model.enums.BoardSharePermission;
+import com.pm.todoservice.repository.projection.BoardShareMember;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +19,11 @@ public interface BoardShareRepository extends JpaRepository<BoardShare, UUID> {
 
     List<BoardShare> findByBoardIdOrderByCreatedAtDesc(UUID boardId);
 
+    List<BoardShare> findBySharedWithUserId(UUID sharedWithUserId);
+
+    // Covered by the uk_board_share_board_user (board_id, shared_with_user_id) index.
+    List<BoardShareMember> findByBoardIdIn(Collection<UUID> boardIds);
+
     Optional<BoardShare> findByBoardIdAndSharedWithUserId(UUID boardId, UUID sharedWithUserId);
 
     boolean existsByBoardIdAndSharedWithUserId(UUID boardId, UUID sharedWithUserId);
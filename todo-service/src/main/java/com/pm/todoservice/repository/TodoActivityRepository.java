@@ -1,13 +1,48 @@
 package com.pm.todoservice.repository;
 
 import com.pm.todoservice.model.TodoActivity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TodoActivityRepository extends JpaRepository<TodoActivity, UUID> {
-    List<TodoActivity> findByTodoIdOrderByCreatedAtDesc(UUID todoId);
+    @Query("select a from TodoActivity a where a.todoId = :todoId order by a.createdAt desc, a.id desc")
+    List<TodoActivity> findLatestByTodoId(@Param("todoId") UUID todoId, Limit limit);
+
+    @Query("select a from TodoActivity a where a.todoId = :todoId "
+            + "and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id)) "
+            + "order by a.createdAt desc, a.id desc")
+    List<TodoActivity> findByTodoIdBefore(
+            @Param("todoId") UUID todoId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    // Field filter: payload containment (@>) against {"changes":[{"field":...}]}, applied within one todo's history.
+    @Query(value = "SELECT * FROM todo_activity WHERE todo_id = :todoId AND payload @> CAST(:filter AS jsonb) "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoActivity> findLatestByTodoIdMatching(
+            @Param("todoId") UUID todoId,
+            @Param("filter") String filter,
+            @Param("limit") int limit
+    );
+
+    @Query(value = "SELECT * FROM todo_activity WHERE todo_id = :todoId AND payload @> CAST(:filter AS jsonb) "
+            + "AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoActivity> findByTodoIdBeforeMatching(
+            @Param("todoId") UUID todoId,
+            @Param("filter") String filter,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,319 @@
+package com.pm.todoservice.repository;
+
+import com.pm.todoservice.config.TodoSearchFunctionContributor;
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.TodoSubtask;
+import com.pm.todoservice.repository.projection.FacetCountRow;
+import com.pm.todoservice.repository.projection.SectionCardRow;
+import com.pm.todoservice.repository.projection.SubtaskRow;
+import com.pm.todoservice.repository.projection.TodoBulkTargetRow;
+import com.pm.todoservice.repository.projection.TodoRow;
+import com.pm.todoservice.repository.projection.TodoSearchRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Read model for todo listings: selects scalar columns into records, so no entities, snapshots or proxies are created.
+@Repository
+public class TodoReadRepository {
+
+    public static final String RELEVANCE_SORT = "relevance";
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    // Top-N per section in one statement; the window count keeps each section's full total.
+    private static final String SECTION_CARDS_SQL = "SELECT ranked.id, ranked.section_id, ranked.section_total FROM ("
+            + "SELECT t.id, t.section_id, "
+            + "row_number() OVER (PARTITION BY t.section_id ORDER BY t.rank NULLS LAST, t.created_at, t.id) AS slot, "
+            + "count(*) OVER (PARTITION BY t.section_id) AS section_total "
+            + "FROM todos t WHERE t.section_id IN (:sectionIds) AND coalesce(t.archived, false) = :archived"
+            + ") ranked WHERE ranked.slot <= :limit ORDER BY ranked.section_id, ranked.slot";
+
+    // Owner and board let the search index narrow candidates to what the caller can see.
+    private static final String SEARCH_ROW_SELECT =
+            "select new com.pm.todoservice.repository.projection.TodoSearchRow(t.id, t.userId, s.boardId, t.title, t.description) "
+                    + "from Todo t left join BoardSection s on s.id = t.sectionId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<TodoRow> findRows(Specification<Todo> specification, Sort sort, String relevanceQuery, long offset, int limit) {
+        TypedQuery<TodoRow> typedQuery = rowQuery(specification, sort, relevanceQuery);
+        if (offset > 0) {
+            typedQuery.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit != Integer.MAX_VALUE) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    // Backed by a server-side cursor; must be consumed inside a transaction and closed by the caller.
+    public Stream<TodoSearchRow> streamSearchRows(int fetchSize) {
+        return readOnly(entityManager.createQuery(
+                SEARCH_ROW_SELECT,
+                TodoSearchRow.class
+        )).setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize).getResultStream();
+    }
+
+    public List<TodoSearchRow> findSearchRows(Collection<UUID> todoIds) {
+        List<TodoSearchRow> rows = new ArrayList<>(todoIds.size());
+        for (List<UUID> chunk : chunks(todoIds)) {
+            rows.addAll(readOnly(entityManager.createQuery(
+                    SEARCH_ROW_SELECT + " where t.id in :ids",
+                    TodoSearchRow.class
+            )).setParameter("ids", chunk).getResultList());
+        }
+        return rows;
+    }
+
+    private TypedQuery<TodoRow> rowQuery(Specification<Todo> specification, Sort sort, String relevanceQuery) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoRow> query = cb.createQuery(TodoRow.class);
+        Root<Todo> root = query.from(Todo.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.select(cb.construct(
+                TodoRow.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("completed"),
+                root.get("userId"),
+                root.get("sectionId"),
+                root.get("rank"),
+                root.get("dueDate"),
+                root.get("remindAt"),
+                root.get("priority"),
+                root.get("category"),
+                root.get("archived"),
+                root.get("archivedAt"),
+                root.get("archivedBy"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                subtaskCount(query, cb, root, false),
+                subtaskCount(query, cb, root, true),
+                subtaskProgress(query, cb, root)
+        ));
+
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb, relevanceQuery));
+        }
+
+        return readOnly(entityManager.createQuery(query));
+    }
+
+    public long count(Specification<Todo> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Todo> root = query.from(Todo.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // The specification may switch on distinct (tag join), so select the matching count only afterwards.
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+
+        return readOnly(entityManager.createQuery(query)).getSingleResult();
+    }
+
+    public List<FacetCountRow> countByTag(Specification<Todo> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountRow> query = cb.createQuery(FacetCountRow.class);
+        Root<Todo> root = query.from(Todo.class);
+        Join<Todo, String> tag = root.join("tags");
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Expression<Long> count = cb.count(root);
+        query.select(cb.construct(FacetCountRow.class, tag, count))
+                .groupBy(tag)
+                .orderBy(cb.desc(count), cb.asc(tag));
+
+        return readOnly(entityManager.createQuery(query)).setMaxResults(limit).getResultList();
+    }
+
+    public List<FacetCountRow> countByCategory(Specification<Todo> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountRow> query = cb.createQuery(FacetCountRow.class);
+        Root<Todo> root = query.from(Todo.class);
+        Path<String> category = root.get("category");
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        query.where(predicate != null ? cb.and(predicate, cb.isNotNull(category)) : cb.isNotNull(category));
+        Expression<Long> count = cb.count(root);
+        query.select(cb.construct(FacetCountRow.class, category, count))
+                .groupBy(category)
+                .orderBy(cb.desc(count), cb.asc(category));
+
+        return readOnly(entityManager.createQuery(query)).setMaxResults(limit).getResultList();
+    }
+
+    // One round trip for existence and permission: the access predicate is evaluated per row instead of filtering.
+    public List<TodoBulkTargetRow> findBulkTargets(Collection<UUID> ids, Specification<Todo> allowed) {
+        List<TodoBulkTargetRow> targets = new ArrayList<>(ids.size());
+        for (List<UUID> chunk : chunks(ids)) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<TodoBulkTargetRow> query = cb.createQuery(TodoBulkTargetRow.class);
+            Root<Todo> root = query.from(Todo.class);
+            Predicate allowedPredicate = allowed.toPredicate(root, query, cb);
+            Expression<Boolean> allowedFlag = allowedPredicate == null
+                    ? cb.literal(true)
+                    : cb.<Boolean>selectCase().when(allowedPredicate, true).otherwise(false);
+
+            query.select(cb.construct(
+                    TodoBulkTargetRow.class,
+                    root.get("id"),
+                    root.get("userId"),
+                    root.get("sectionId"),
+                    root.get("completed"),
+                    root.get("archived"),
+                    allowedFlag
+            )).where(root.get("id").in(chunk));
+            targets.addAll(readOnly(entityManager.createQuery(query)).getResultList());
+        }
+        return targets;
+    }
+
+    public List<SectionCardRow> findSectionCards(Collection<UUID> sectionIds, boolean archived, int limitPerSection) {
+        if (sectionIds.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SECTION_CARDS_SQL)
+                .setParameter("sectionIds", sectionIds)
+                .setParameter("archived", archived)
+                .setParameter("limit", limitPerSection)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, "MANUAL")
+                .getResultList();
+
+        List<SectionCardRow> cards = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            cards.add(new SectionCardRow((UUID) row[0], (UUID) row[1], ((Number) row[2]).longValue()));
+        }
+        return cards;
+    }
+
+    public Map<UUID, Set<String>> findTagsByTodoIds(Collection<UUID> todoIds) {
+        Map<UUID, Set<String>> tagsByTodoId = new HashMap<>();
+        for (List<UUID> chunk : chunks(todoIds)) {
+            List<Object[]> rows = readOnly(entityManager.createQuery(
+                    "select t.id, tag from Todo t join t.tags tag where t.id in :ids",
+                    Object[].class
+            )).setParameter("ids", chunk).getResultList();
+
+            for (Object[] row : rows) {
+                tagsByTodoId.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]);
+            }
+        }
+        return tagsByTodoId;
+    }
+
+    public Map<UUID, List<SubtaskRow>> findSubtasksByTodoIds(Collection<UUID> todoIds) {
+        Map<UUID, List<SubtaskRow>> subtasksByTodoId = new LinkedHashMap<>();
+        for (List<UUID> chunk : chunks(todoIds)) {
+            List<SubtaskRow> rows = readOnly(entityManager.createQuery(
+                    "select new com.pm.todoservice.repository.projection.SubtaskRow(t.id, s.id, s.title, s.completed) "
+                            + "from Todo t join t.subtasks s where t.id in :ids order by t.id, s.position, s.id",
+                    SubtaskRow.class
+            )).setParameter("ids", chunk).getResultList();
+
+            for (SubtaskRow row : rows) {
+                subtasksByTodoId.computeIfAbsent(row.todoId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+        return subtasksByTodoId;
+    }
+
+    // "relevance" is not an attribute; it orders by full-text rank against relevanceQuery (a tsquery).
+    private List<Order> toOrders(Sort sort, Root<Todo> root, CriteriaBuilder cb, String relevanceQuery) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (RELEVANCE_SORT.equals(order.getProperty())) {
+                Expression<Double> rank = cb.function(
+                        TodoSearchFunctionContributor.RANK_FUNCTION,
+                        Double.class,
+                        root.get("title"),
+                        root.get("description"),
+                        // Bound, not inlined (see TodoSearchSpecifications.matching).
+                        ((HibernateCriteriaBuilder) cb).value(relevanceQuery)
+                );
+                orders.add(order.isAscending() ? cb.asc(rank) : cb.desc(rank));
+            } else {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+            }
+        }
+        return orders;
+    }
+
+    private Subquery<Long> subtaskCount(CriteriaQuery<?> query, CriteriaBuilder cb, Root<Todo> root, boolean completedOnly) {
+        Subquery<Long> count = query.subquery(Long.class);
+        Root<Todo> todo = count.correlate(root);
+        Join<Todo, TodoSubtask> subtask = todo.join("subtasks");
+        count.select(cb.count(subtask));
+        if (completedOnly) {
+            count.where(cb.isTrue(subtask.get("completed")));
+        }
+        return count;
+    }
+
+    // Average of 100/0 per subtask is the completion percentage; null when the todo has no subtasks.
+    private Subquery<Double> subtaskProgress(CriteriaQuery<?> query, CriteriaBuilder cb, Root<Todo> root) {
+        Subquery<Double> progress = query.subquery(Double.class);
+        Root<Todo> todo = progress.correlate(root);
+        Join<Todo, TodoSubtask> subtask = todo.join("subtasks");
+        progress.select(cb.avg(cb.<Double>selectCase()
+                .when(cb.isTrue(subtask.get("completed")), 100.0)
+                .otherwise(0.0)));
+        return progress;
+    }
+
+    private <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, "MANUAL");
+    }
+
+    private List<List<UUID>> chunks(Collection<UUID> ids) {
+        List<UUID> source = List.copyOf(ids);
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int start = 0; start < source.size(); start += ID_CHUNK_SIZE) {
+            chunks.add(source.subList(start, Math.min(start + ID_CHUNK_SIZE, source.size())));
+        }
+        return chunks;
+    }
+}
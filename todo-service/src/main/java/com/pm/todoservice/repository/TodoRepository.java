@@ -3,10 +3,13 @@ package com.pm.todoservice.repository;
 import com.pm.todoservice.model.Todo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,5 +18,65 @@ public interface TodoRepository extends JpaRepository<Todo, UUID>, JpaSpecificat
 
     List<Todo> findByUserId(UUID userId);
 
-    long deleteByUserId(UUID userId);
+    List<Todo> deleteByUserId(UUID userId);
+
+    // Set-based bulk mutations. They bypass entity callbacks, so updatedAt is set explicitly.
+
+    @Modifying
+    @Query("update Todo t set t.completed = :completed, t.updatedAt = :now where t.id in :ids")
+    int updateCompleted(@Param("ids") Collection<UUID> ids, @Param("completed") boolean completed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Todo t set t.archived = true, t.archivedAt = :now, t.archivedBy = :userId, t.updatedAt = :now "
+            + "where t.id in :ids")
+    int archiveAll(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Todo t set t.archived = false, t.archivedAt = null, t.archivedBy = null, t.updatedAt = :now "
+            + "where t.id in :ids")
+    int restoreAll(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Moved todos lose their rank and sort last until the target section is rebalanced.
+    @Modifying
+    @Query("update Todo t set t.sectionId = :sectionId, t.rank = null, t.updatedAt = :now where t.id in :ids")
+    int moveAll(@Param("ids") Collection<UUID> ids, @Param("sectionId") UUID sectionId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Todo t set t.updatedAt = :now where t.id in :ids")
+    int touchAll(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Relies on ux_todo_tags_tag_todo to skip tags a todo already has.
+    @Modifying
+    @Query(value = "INSERT INTO todo_tags (todo_id, tag) SELECT t.id, :tag FROM todos t WHERE t.id IN (:ids) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addTag(@Param("ids") Collection<UUID> ids, @Param("tag") String tag);
+
+    @Modifying
+    @Query(value = "DELETE FROM todo_tags WHERE todo_id IN (:ids)", nativeQuery = true)
+    int deleteTagsByTodoIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM todo_subtasks WHERE todo_id IN (:ids)", nativeQuery = true)
+    int deleteSubtasksByTodoIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("delete from Todo t where t.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<UUID> ids);
+
+    // Neighbour lookups for RankService, served by idx_todos_section_rank.
+
+    @Query("select t.rank from Todo t where t.id = :id and t.sectionId = :sectionId")
+    List<String> findRank(@Param("sectionId") UUID sectionId, @Param("id") UUID id);
+
+    @Query("select max(t.rank) from Todo t where t.sectionId = :sectionId")
+    String findLastRank(@Param("sectionId") UUID sectionId);
+
+    @Query("select max(t.rank) from Todo t where t.sectionId = :sectionId and t.id <> :excludedId")
+    String findLastRankExcluding(@Param("sectionId") UUID sectionId, @Param("excludedId") UUID excludedId);
+
+    @Query("select min(t.rank) from Todo t where t.sectionId = :sectionId and t.rank > :rank and t.id <> :excludedId")
+    String findNextRank(@Param("sectionId") UUID sectionId, @Param("rank") String rank, @Param("excludedId") UUID excludedId);
+
+    @Query("select max(t.rank) from Todo t where t.sectionId = :sectionId and t.rank < :rank and t.id <> :excludedId")
+    String findPreviousRank(@Param("sectionId") UUID sectionId, @Param("rank") String rank, @Param("excludedId") UUID excludedId);
 }
@@ -20,6 +20,8 @@ public interface TodoShareRepository extends JpaRepository<TodoShare, UUID> {
 
     List<TodoShare> findByTodoIdIn(Collection<UUID> todoIds);
 
+    List<TodoShare> findBySharedWithUserId(UUID sharedWithUserId);
+
     Optional<TodoShare> findByTodoIdAndSharedWithUserId(UUID todoId, UUID sharedWithUserId);
 
     boolean existsByTodoIdAndSharedWithUserId(UUID todoId, UUID sharedWithUserId);
@@ -0,0 +1,41 @@
+package com.pm.todoservice.repository;
+
+import com.pm.todoservice.model.TodoSubtask;
+import com.pm.todoservice.repository.projection.SubtaskProgressRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Single-row subtask writes that leave the owning todo and its other subtasks untouched.
+@Repository
+public interface TodoSubtaskRepository extends JpaRepository<TodoSubtask, UUID> {
+
+    Optional<TodoSubtask> findByIdAndTodoId(UUID id, UUID todoId);
+
+    // Appends after the current last subtask; todo_id is owned by Todo.subtasks, hence the native insert.
+    @Modifying
+    @Query(value = "INSERT INTO todo_subtasks (id, subtask_title, subtask_completed, todo_id, position) "
+            + "SELECT :id, :title, :completed, :todoId, coalesce(max(s.position), 0) + :gap "
+            + "FROM todo_subtasks s WHERE s.todo_id = :todoId", nativeQuery = true)
+    int append(
+            @Param("todoId") UUID todoId,
+            @Param("id") UUID id,
+            @Param("title") String title,
+            @Param("completed") boolean completed,
+            @Param("gap") long gap
+    );
+
+    @Modifying
+    @Query("delete from TodoSubtask s where s.id = :id and s.todoId = :todoId")
+    int deleteByIdAndTodoId(@Param("id") UUID id, @Param("todoId") UUID todoId);
+
+    @Query("select new com.pm.todoservice.repository.projection.SubtaskProgressRow("
+            + "count(s), sum(case when s.completed = true then 1L else 0L end)) "
+            + "from TodoSubtask s where s.todoId = :todoId")
+    SubtaskProgressRow findProgressByTodoId(@Param("todoId") UUID todoId);
+}
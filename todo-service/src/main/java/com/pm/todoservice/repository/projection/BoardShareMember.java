@@ -0,0 +1,9 @@
+package com.pm.todoservice.repository.projection;
+
+import java.util.UUID;
+
+public interface BoardShareMember {
+    UUID getBoardId();
+
+    UUID getSharedWithUserId();
+}
@@ -0,0 +1,4 @@
+package com.pm.todoservice.repository.projection;
+
+public record FacetCountRow(String value, Long count) {
+}
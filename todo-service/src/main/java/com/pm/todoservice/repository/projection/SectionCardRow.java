@@ -0,0 +1,7 @@
+package com.pm.todoservice.repository.projection;
+
+import java.util.UUID;
+
+// One card slot of a board snapshot; sectionTotal counts every matching todo in the section, not just the slots.
+public record SectionCardRow(UUID todoId, UUID sectionId, Long sectionTotal) {
+}
@@ -0,0 +1,5 @@
+package com.pm.todoservice.repository.projection;
+
+// completed is null when the todo has no subtasks (sum over no rows).
+public record SubtaskProgressRow(Long total, Long completed) {
+}
@@ -0,0 +1,6 @@
+package com.pm.todoservice.repository.projection;
+
+import java.util.UUID;
+
+public record SubtaskRow(UUID todoId, UUID id, String title, Boolean completed) {
+}
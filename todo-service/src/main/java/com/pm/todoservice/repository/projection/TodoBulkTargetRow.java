@@ -0,0 +1,14 @@
+package com.pm.todoservice.repository.projection;
+
+import java.util.UUID;
+
+// A bulk target with the caller's permission already evaluated by the database.
+public record TodoBulkTargetRow(
+        UUID id,
+        UUID userId,
+        UUID sectionId,
+        Boolean completed,
+        Boolean archived,
+        Boolean allowed
+) {
+}
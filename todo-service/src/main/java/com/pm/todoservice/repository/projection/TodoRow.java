@@ -0,0 +1,29 @@
+package com.pm.todoservice.repository.projection;
+
+import com.pm.todoservice.model.enums.TodoPriority;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TodoRow(
+        UUID id,
+        String title,
+        String description,
+        Boolean completed,
+        UUID userId,
+        UUID sectionId,
+        String rank,
+        LocalDateTime dueDate,
+        LocalDateTime remindAt,
+        TodoPriority priority,
+        String category,
+        Boolean archived,
+        LocalDateTime archivedAt,
+        UUID archivedBy,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long totalSubtasks,
+        Long completedSubtasks,
+        Double progressPercent
+) {
+}
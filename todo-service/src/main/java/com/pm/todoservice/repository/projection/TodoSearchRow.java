@@ -0,0 +1,6 @@
+package com.pm.todoservice.repository.projection;
+
+import java.util.UUID;
+
+public record TodoSearchRow(UUID id, UUID userId, UUID boardId, String title, String description) {
+}
@@ -0,0 +1,54 @@
+package com.pm.todoservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// First tier in front of BoardAclCache: every authorization fact a request looks up is pinned for the rest of that
+// request. The checks of one request (visibility predicate, access validation, sync filters) therefore agree with
+// each other even if the shared entry is invalidated or expires while the request runs.
+@Component
+public class AuthorizationRequestCache {
+
+    private static final String ATTRIBUTE = AuthorizationRequestCache.class.getName() + ".facts";
+
+    // Outside an HTTP request (background work) every lookup goes straight to the loader.
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, Object key, Supplier<T> loader) {
+        Map<CacheKey, Object> facts = currentFacts();
+        if (facts == null) {
+            return loader.get();
+        }
+        return (T) facts.computeIfAbsent(new CacheKey(type, key), cacheKey -> loader.get());
+    }
+
+    // A request that changed a fact itself must see the new value for the rest of the request.
+    public void evict(String type, Object key) {
+        Map<CacheKey, Object> facts = currentFacts();
+        if (facts != null) {
+            facts.remove(new CacheKey(type, key));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<CacheKey, Object> currentFacts() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Object facts = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (facts == null) {
+            facts = new HashMap<CacheKey, Object>();
+            attributes.setAttribute(ATTRIBUTE, facts, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<CacheKey, Object>) facts;
+    }
+
+    private record CacheKey(String type, Object key) {
+    }
+}
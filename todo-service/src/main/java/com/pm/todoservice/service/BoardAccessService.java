@@ -3,34 +3,30 @@ package com.pm.todoservice.service;
 import com.pm.todoservice.exception.ForbiddenException;
 import com.pm.todoservice.model.Board;
 import com.pm.todoservice.model.enums.BoardSharePermission;
-import com.pm.todoservice.repository.BoardShareRepository;
 import com.pm.todoservice.security.AuthContext;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class BoardAccessService {
 
-    private final BoardShareRepository boardShareRepository;
+    private final BoardAclCache aclCache;
 
-    public BoardAccessService(BoardShareRepository boardShareRepository) {
-        this.boardShareRepository = boardShareRepository;
+    public BoardAccessService(BoardAclCache aclCache) {
+        this.aclCache = aclCache;
     }
 
     public void validateReadBoard(Board board, AuthContext authContext) {
         if (isBoardOwnerOrAdmin(board, authContext)) {
             return;
         }
-
-        boolean hasShareAccess = hasBoardPermission(
-                board.getId(),
-                authContext.userId(),
-                List.of(BoardSharePermission.VIEW, BoardSharePermission.EDIT)
-        );
-        if (!hasShareAccess) {
+        if (!canReadBoard(board.getId(), authContext)) {
             throw new ForbiddenException("You do not have access to this board");
         }
     }
@@ -39,13 +35,7 @@ public class BoardAccessService {
         if (isBoardOwnerOrAdmin(board, authContext)) {
             return;
         }
-
-        boolean hasEditAccess = hasBoardPermission(
-                board.getId(),
-                authContext.userId(),
-                List.of(BoardSharePermission.EDIT)
-        );
-        if (!hasEditAccess) {
+        if (!canEditBoard(board.getId(), authContext)) {
             throw new ForbiddenException("You do not have edit access to this board");
         }
     }
@@ -56,24 +46,59 @@ public class BoardAccessService {
         }
     }
 
-    public Set<UUID> getReadableBoardIds(AuthContext authContext) {
-        if (authContext.isAdmin()) {
-            return Set.of();
+    public void validateEditSection(UUID sectionId, AuthContext authContext) {
+        UUID boardId = findBoardIdForSection(sectionId)
+                .orElseThrow(() -> new RuntimeException("Section not found with id: " + sectionId));
+
+        if (!canEditBoard(boardId, authContext)) {
+            throw new ForbiddenException("You do not have edit access to this board");
+        }
+    }
+
+    public Optional<UUID> findBoardIdForSection(UUID sectionId) {
+        return aclCache.boardIdForSection(sectionId);
+    }
+
+    public boolean canReadBoard(UUID boardId, AuthContext authContext) {
+        if (isBoardOwnerOrAdmin(boardId, authContext)) {
+            return true;
         }
-        return boardShareRepository.findBoardIdsBySharedWithUserIdAndPermissionIn(
+        return hasBoardPermission(
+                boardId,
                 authContext.userId(),
                 List.of(BoardSharePermission.VIEW, BoardSharePermission.EDIT)
         );
     }
 
+    public boolean canEditBoard(UUID boardId, AuthContext authContext) {
+        if (isBoardOwnerOrAdmin(boardId, authContext)) {
+            return true;
+        }
+        return hasBoardPermission(boardId, authContext.userId(), List.of(BoardSharePermission.EDIT));
+    }
+
+    public Set<UUID> getReadableBoardIds(AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return Set.of();
+        }
+        return aclCache.boardAcl(authContext.userId()).sharedBoards().keySet();
+    }
+
     public Set<UUID> getEditableBoardIds(AuthContext authContext) {
         if (authContext.isAdmin()) {
             return Set.of();
         }
-        return boardShareRepository.findBoardIdsBySharedWithUserIdAndPermissionIn(
-                authContext.userId(),
-                List.of(BoardSharePermission.EDIT)
-        );
+        return aclCache.boardAcl(authContext.userId()).sharedBoards().entrySet().stream()
+                .filter(entry -> entry.getValue() == BoardSharePermission.EDIT)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public Set<UUID> getOwnedBoardIds(AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return Set.of();
+        }
+        return aclCache.boardAcl(authContext.userId()).ownedBoardIds();
     }
 
     public boolean isBoardOwnerOrAdmin(Board board, AuthContext authContext) {
@@ -83,9 +108,16 @@ public class BoardAccessService {
         return board.getOwnerUserId() != null && board.getOwnerUserId().equals(authContext.userId());
     }
 
+    public boolean isBoardOwnerOrAdmin(UUID boardId, AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return true;
+        }
+        return aclCache.boardAcl(authContext.userId()).owns(boardId);
+    }
+
     private boolean hasBoardPermission(UUID boardId, UUID userId, List<BoardSharePermission> permissions) {
-        return boardShareRepository.findByBoardIdAndSharedWithUserId(boardId, userId)
-                .map(share -> permissions.contains(share.getPermission()))
+        return aclCache.boardAcl(userId).sharePermission(boardId)
+                .map(permissions::contains)
                 .orElse(false);
     }
 }
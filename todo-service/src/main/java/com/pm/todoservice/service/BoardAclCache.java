@@ -0,0 +1,185 @@
+package com.pm.todoservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pm.todoservice.config.ReadYourWritesTracker;
+import com.pm.todoservice.event.BoardAccessChangedEvent;
+import com.pm.todoservice.event.BoardSectionRemovedEvent;
+import com.pm.todoservice.event.ChangeCommittedEvent;
+import com.pm.todoservice.event.TodoShareChangedEvent;
+import com.pm.todoservice.model.enums.BoardSharePermission;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import com.pm.todoservice.model.enums.TodoSharePermission;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Authorization facts shared across requests. Lookups go through AuthorizationRequestCache first, so a request
+// reads each fact from here at most once. Changes made on this instance evict right after commit; changes made on
+// other instances evict when ChangeLogTailer replays their change_log rows, so revoked access stays usable
+// elsewhere for about one poll interval (app.change-log.poll-interval) plus the runtime of the longest concurrent
+// transaction. Expiry is only the backstop for when polling fails, and bounds staleness in that case.
+@Component
+public class BoardAclCache {
+
+    private static final String QUERY_METRIC = "todo.authorization.queries";
+    private static final String BOARD_ACL = "board-acl";
+    private static final String TODO_SHARES = "todo-shares";
+    private static final String SECTION_BOARD = "section-board";
+
+    private static final String OWNED_BOARDS_SQL = "SELECT id FROM boards WHERE owner_user_id = ?";
+    private static final String SHARED_BOARDS_SQL = "SELECT board_id, permission FROM board_shares WHERE shared_with_user_id = ?";
+    private static final String TODO_SHARES_SQL = "SELECT todo_id, permission FROM todo_shares WHERE shared_with_user_id = ?";
+    private static final String SECTION_BOARD_SQL = "SELECT board_id FROM board_sections WHERE id = ?";
+
+    // Bound to the primary pool itself, not the routing proxy: whatever thread triggers a reload (a replica-routed
+    // read-only request, an event stream's virtual thread), a fact is never cached from a lagging replica.
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AuthorizationRequestCache requestCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<UUID, UserBoardAcl> boardAclByUser;
+    private final Cache<UUID, Map<UUID, TodoSharePermission>> todoSharesByUser;
+    private final Cache<UUID, Optional<UUID>> boardIdBySection;
+
+    public BoardAclCache(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesTracker readYourWritesTracker,
+            AuthorizationRequestCache requestCache,
+            MeterRegistry meterRegistry,
+            @Value("${app.acl-cache.expire-after-write:1m}") Duration expireAfterWrite,
+            @Value("${app.acl-cache.max-users:10000}") long maxUsers,
+            @Value("${app.acl-cache.max-sections:100000}") long maxSections
+    ) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.requestCache = requestCache;
+        this.meterRegistry = meterRegistry;
+
+        this.boardAclByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.todoSharesByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.boardIdBySection = Caffeine.newBuilder()
+                .maximumSize(maxSections)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, boardAclByUser, "board-acl-by-user");
+        CaffeineCacheMetrics.monitor(meterRegistry, todoSharesByUser, "todo-shares-by-user");
+        CaffeineCacheMetrics.monitor(meterRegistry, boardIdBySection, "board-id-by-section");
+    }
+
+    public UserBoardAcl boardAcl(UUID userId) {
+        return requestCache.get(BOARD_ACL, userId, () -> boardAclByUser.get(userId, this::loadBoardAcl));
+    }
+
+    public Optional<TodoSharePermission> todoSharePermission(UUID userId, UUID todoId) {
+        return Optional.ofNullable(todoShares(userId).get(todoId));
+    }
+
+    public Map<UUID, TodoSharePermission> todoShares(UUID userId) {
+        return requestCache.get(TODO_SHARES, userId, () -> todoSharesByUser.get(userId, this::loadTodoShares));
+    }
+
+    public Optional<UUID> boardIdForSection(UUID sectionId) {
+        return requestCache.get(SECTION_BOARD, sectionId, () -> boardIdBySection.get(sectionId, this::loadBoardIdForSection));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardAccessChanged(BoardAccessChangedEvent event) {
+        boardAclByUser.invalidate(event.userId());
+        requestCache.evict(BOARD_ACL, event.userId());
+        // The facts above reload from the primary anyway; this keeps the user's other reads off lagging replicas too.
+        readYourWritesTracker.recordWrite(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardSectionRemoved(BoardSectionRemovedEvent event) {
+        boardIdBySection.invalidate(event.sectionId());
+        requestCache.evict(SECTION_BOARD, event.sectionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoShareChanged(TodoShareChangedEvent event) {
+        todoSharesByUser.invalidate(event.userId());
+        requestCache.evict(TODO_SHARES, event.userId());
+        readYourWritesTracker.recordWrite(event.userId());
+    }
+
+    // Share and section changes from any instance. Runs before ChangeEventBus, whose access refresh reads these facts.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onChangeCommitted(ChangeCommittedEvent event) {
+        UUID audienceUserId = event.audienceUserId();
+        if (audienceUserId != null && event.entityType() == SyncEntityType.BOARD) {
+            boardAclByUser.invalidate(audienceUserId);
+        } else if (audienceUserId != null && event.entityType() == SyncEntityType.TODO) {
+            todoSharesByUser.invalidate(audienceUserId);
+        } else if (event.deleted() && event.entityType() == SyncEntityType.BOARD_SECTION) {
+            boardIdBySection.invalidate(event.entityId());
+        }
+    }
+
+    private UserBoardAcl loadBoardAcl(UUID userId) {
+        meterRegistry.counter(QUERY_METRIC, "type", BOARD_ACL).increment();
+        Set<UUID> ownedBoardIds = new HashSet<>(primaryJdbcTemplate.queryForList(OWNED_BOARDS_SQL, UUID.class, userId));
+        Map<UUID, BoardSharePermission> sharedBoards = new HashMap<>();
+        primaryJdbcTemplate.query(SHARED_BOARDS_SQL, rs -> {
+            sharedBoards.put(rs.getObject("board_id", UUID.class), BoardSharePermission.valueOf(rs.getString("permission")));
+        }, userId);
+        return new UserBoardAcl(Set.copyOf(ownedBoardIds), Map.copyOf(sharedBoards));
+    }
+
+    private Map<UUID, TodoSharePermission> loadTodoShares(UUID userId) {
+        meterRegistry.counter(QUERY_METRIC, "type", TODO_SHARES).increment();
+        Map<UUID, TodoSharePermission> shares = new HashMap<>();
+        primaryJdbcTemplate.query(TODO_SHARES_SQL, rs -> {
+            shares.put(rs.getObject("todo_id", UUID.class), TodoSharePermission.valueOf(rs.getString("permission")));
+        }, userId);
+        return Map.copyOf(shares);
+    }
+
+    private Optional<UUID> loadBoardIdForSection(UUID sectionId) {
+        meterRegistry.counter(QUERY_METRIC, "type", SECTION_BOARD).increment();
+        return primaryJdbcTemplate.queryForList(SECTION_BOARD_SQL, UUID.class, sectionId).stream().findFirst();
+    }
+
+    public record UserBoardAcl(Set<UUID> ownedBoardIds, Map<UUID, BoardSharePermission> sharedBoards) {
+
+        public boolean hasAnyBoard() {
+            return !ownedBoardIds.isEmpty() || !sharedBoards.isEmpty();
+        }
+
+        public boolean owns(UUID boardId) {
+            return ownedBoardIds.contains(boardId);
+        }
+
+        public Optional<BoardSharePermission> sharePermission(UUID boardId) {
+            return Optional.ofNullable(sharedBoards.get(boardId));
+        }
+    }
+}
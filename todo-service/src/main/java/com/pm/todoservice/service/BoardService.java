@@ -1,13 +1,17 @@
 package com.pm.todoservice.service;
 
 import com.pm.todoservice.dto.*;
+import com.pm.todoservice.event.BoardAccessChangedEvent;
+import com.pm.todoservice.event.BoardSectionRemovedEvent;
 import com.pm.todoservice.model.Board;
 import com.pm.todoservice.model.BoardSection;
 import com.pm.todoservice.model.BoardShare;
 import com.pm.todoservice.repository.BoardRepository;
 import com.pm.todoservice.repository.BoardSectionRepository;
 import com.pm.todoservice.repository.BoardShareRepository;
+import com.pm.todoservice.repository.projection.BoardShareMember;
 import com.pm.todoservice.security.AuthContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,17 +25,26 @@ public class BoardService {
     private final BoardSectionRepository boardSectionRepository;
     private final BoardShareRepository boardShareRepository;
     private final BoardAccessService boardAccessService;
+    private final RankService rankService;
+    private final ChangeLogRecorder changeLogRecorder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BoardService(
             BoardRepository boardRepository,
             BoardSectionRepository boardSectionRepository,
             BoardShareRepository boardShareRepository,
-            BoardAccessService boardAccessService
+            BoardAccessService boardAccessService,
+            RankService rankService,
+            ChangeLogRecorder changeLogRecorder,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.boardRepository = boardRepository;
         this.boardSectionRepository = boardSectionRepository;
         this.boardShareRepository = boardShareRepository;
         this.boardAccessService = boardAccessService;
+        this.rankService = rankService;
+        this.changeLogRecorder = changeLogRecorder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -42,24 +55,29 @@ public class BoardService {
         board.setArchived(false);
 
         Board saved = boardRepository.save(board);
+        eventPublisher.publishEvent(new BoardAccessChangedEvent(saved.getId(), saved.getOwnerUserId()));
         return toBoardDto(saved, List.of(), List.of());
     }
 
+    @Transactional(readOnly = true)
     public List<BoardDTO> getBoards(AuthContext authContext) {
         List<Board> boards = authContext.isAdmin()
                 ? boardRepository.findAll()
-                : getBoardsForUser(authContext.userId());
+                : getBoardsForUser(authContext);
 
         return mapBoardsWithSectionsAndShares(boards);
     }
 
+    @Transactional(readOnly = true)
     public BoardDTO getBoard(UUID boardId, AuthContext authContext) {
         Board board = findBoardOrThrow(boardId);
         boardAccessService.validateReadBoard(board, authContext);
 
-        List<BoardSection> sections = boardSectionRepository.findByBoardIdOrderByPositionAsc(boardId);
-        List<BoardShare> shares = boardShareRepository.findByBoardIdOrderByCreatedAtDesc(boardId);
-        return toBoardDto(board, sections, shares);
+        List<BoardSection> sections = boardSectionRepository.findByBoardIdOrderByRankAscIdAsc(boardId);
+        List<UUID> sharedWithUserIds = boardShareRepository.findByBoardIdOrderByCreatedAtDesc(boardId).stream()
+                .map(BoardShare::getSharedWithUserId)
+                .collect(Collectors.toList());
+        return toBoardDto(board, sections, sharedWithUserIds);
     }
 
     @Transactional
@@ -80,9 +98,12 @@ public class BoardService {
         }
 
         Board saved = boardRepository.save(board);
-        List<BoardSection> sections = boardSectionRepository.findByBoardIdOrderByPositionAsc(boardId);
-        List<BoardShare> shares = boardShareRepository.findByBoardIdOrderByCreatedAtDesc(boardId);
-        return toBoardDto(saved, sections, shares);
+        changeLogRecorder.recordBoard(boardId);
+        List<BoardSection> sections = boardSectionRepository.findByBoardIdOrderByRankAscIdAsc(boardId);
+        List<UUID> sharedWithUserIds = boardShareRepository.findByBoardIdOrderByCreatedAtDesc(boardId).stream()
+                .map(BoardShare::getSharedWithUserId)
+                .collect(Collectors.toList());
+        return toBoardDto(saved, sections, sharedWithUserIds);
     }
 
     @Transactional
@@ -94,7 +115,9 @@ public class BoardService {
         section.setBoardId(boardId);
         section.setName(dto.getName().trim());
         section.setPosition(dto.getPosition() != null ? dto.getPosition() : 0);
+        section.setRank(rankService.sectionRankAtEnd(boardId));
         BoardSection saved = boardSectionRepository.save(section);
+        changeLogRecorder.recordSections(boardId, List.of(saved.getId()));
         return toSectionDto(saved);
     }
 
@@ -119,6 +142,23 @@ public class BoardService {
             section.setPosition(dto.getPosition());
         }
 
+        changeLogRecorder.recordSections(boardId, List.of(sectionId));
+        return toSectionDto(boardSectionRepository.save(section));
+    }
+
+    // Drag-and-drop: only the moved section's rank is written.
+    @Transactional
+    public BoardSectionDTO moveSection(UUID boardId, UUID sectionId, BoardSectionMoveDTO dto, AuthContext authContext) {
+        Board board = findBoardOrThrow(boardId);
+        boardAccessService.validateEditBoard(board, authContext);
+
+        BoardSection section = findSectionOrThrow(sectionId);
+        if (!boardId.equals(section.getBoardId())) {
+            throw new RuntimeException("Section does not belong to this board");
+        }
+
+        section.setRank(rankService.sectionRankBetween(boardId, sectionId, dto.getPreviousId(), dto.getNextId()));
+        changeLogRecorder.recordSections(boardId, List.of(sectionId));
         return toSectionDto(boardSectionRepository.save(section));
     }
 
@@ -133,8 +173,10 @@ public class BoardService {
         }
 
         boardSectionRepository.delete(section);
+        eventPublisher.publishEvent(new BoardSectionRemovedEvent(boardId, sectionId));
     }
 
+    @Transactional(readOnly = true)
     public List<BoardShareDTO> getBoardShares(UUID boardId, AuthContext authContext) {
         Board board = findBoardOrThrow(boardId);
         boardAccessService.validateManageBoard(board, authContext);
@@ -163,7 +205,9 @@ public class BoardService {
         share.setPermission(dto.getPermission());
         share.setCreatedBy(authContext.userId());
 
-        return toShareDto(boardShareRepository.save(share));
+        BoardShare saved = boardShareRepository.save(share);
+        eventPublisher.publishEvent(new BoardAccessChangedEvent(boardId, dto.getSharedWithUserId()));
+        return toShareDto(saved);
     }
 
     @Transactional
@@ -174,7 +218,9 @@ public class BoardService {
         BoardShare share = boardShareRepository.findByBoardIdAndSharedWithUserId(boardId, sharedUserId)
                 .orElseThrow(() -> new RuntimeException("Board share not found for this user"));
         share.setPermission(dto.getPermission());
-        return toShareDto(boardShareRepository.save(share));
+        BoardShare saved = boardShareRepository.save(share);
+        eventPublisher.publishEvent(new BoardAccessChangedEvent(boardId, sharedUserId));
+        return toShareDto(saved);
     }
 
     @Transactional
@@ -185,6 +231,30 @@ public class BoardService {
         BoardShare share = boardShareRepository.findByBoardIdAndSharedWithUserId(boardId, sharedUserId)
                 .orElseThrow(() -> new RuntimeException("Board share not found for this user"));
         boardShareRepository.delete(share);
+        eventPublisher.publishEvent(new BoardAccessChangedEvent(boardId, sharedUserId));
+    }
+
+    // Current state of the given boards/sections, skipping ids that no longer exist or are not readable.
+    @Transactional(readOnly = true)
+    public List<BoardDTO> findReadableBoards(Collection<UUID> boardIds, AuthContext authContext) {
+        if (boardIds.isEmpty()) {
+            return List.of();
+        }
+        List<Board> boards = boardRepository.findAllById(boardIds).stream()
+                .filter(board -> boardAccessService.canReadBoard(board.getId(), authContext))
+                .collect(Collectors.toList());
+        return mapBoardsWithSectionsAndShares(boards);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BoardSectionDTO> findReadableSections(Collection<UUID> sectionIds, AuthContext authContext) {
+        if (sectionIds.isEmpty()) {
+            return List.of();
+        }
+        return boardSectionRepository.findAllById(sectionIds).stream()
+                .filter(section -> boardAccessService.canReadBoard(section.getBoardId(), authContext))
+                .map(this::toSectionDto)
+                .collect(Collectors.toList());
     }
 
     public Optional<BoardSection> findSectionById(UUID sectionId) {
@@ -204,9 +274,7 @@ public class BoardService {
         }
 
         Set<UUID> shared = boardAccessService.getReadableBoardIds(authContext);
-        Set<UUID> owned = boardRepository.findByOwnerUserId(authContext.userId()).stream()
-                .map(Board::getId)
-                .collect(Collectors.toSet());
+        Set<UUID> owned = boardAccessService.getOwnedBoardIds(authContext);
 
         Set<UUID> all = new HashSet<>(shared);
         all.addAll(owned);
@@ -219,30 +287,20 @@ public class BoardService {
         }
 
         Set<UUID> shared = boardAccessService.getEditableBoardIds(authContext);
-        Set<UUID> owned = boardRepository.findByOwnerUserId(authContext.userId()).stream()
-                .map(Board::getId)
-                .collect(Collectors.toSet());
+        Set<UUID> owned = boardAccessService.getOwnedBoardIds(authContext);
 
         Set<UUID> all = new HashSet<>(shared);
         all.addAll(owned);
         return all;
     }
 
-    private List<Board> getBoardsForUser(UUID userId) {
-        Set<UUID> sharedBoardIds = boardShareRepository.findBoardIdsBySharedWithUserIdAndPermissionIn(
-                userId,
-                List.of(com.pm.todoservice.model.enums.BoardSharePermission.VIEW, com.pm.todoservice.model.enums.BoardSharePermission.EDIT)
-        );
-
-        List<Board> ownedBoards = boardRepository.findByOwnerUserId(userId);
-        List<Board> sharedBoards = sharedBoardIds.isEmpty()
-                ? List.of()
-                : boardRepository.findAllById(sharedBoardIds);
-
-        Map<UUID, Board> merged = new LinkedHashMap<>();
-        ownedBoards.forEach(board -> merged.put(board.getId(), board));
-        sharedBoards.forEach(board -> merged.put(board.getId(), board));
-        return new ArrayList<>(merged.values());
+    private List<Board> getBoardsForUser(AuthContext authContext) {
+        Set<UUID> boardIds = new LinkedHashSet<>(boardAccessService.getOwnedBoardIds(authContext));
+        boardIds.addAll(boardAccessService.getReadableBoardIds(authContext));
+        if (boardIds.isEmpty()) {
+            return List.of();
+        }
+        return boardRepository.findAllById(boardIds);
     }
 
     private List<BoardDTO> mapBoardsWithSectionsAndShares(List<Board> boards) {
@@ -251,17 +309,19 @@ public class BoardService {
         }
 
         Set<UUID> boardIds = boards.stream().map(Board::getId).collect(Collectors.toSet());
-        Map<UUID, List<BoardSection>> sectionsByBoardId = boardSectionRepository.findByBoardIdIn(boardIds).stream()
+        Map<UUID, List<BoardSection>> sectionsByBoardId = boardSectionRepository.findByBoardIdInOrderByRankAscIdAsc(boardIds).stream()
                 .collect(Collectors.groupingBy(BoardSection::getBoardId));
-        Map<UUID, List<BoardShare>> sharesByBoardId = boardShareRepository.findAll().stream()
-                .filter(share -> boardIds.contains(share.getBoardId()))
-                .collect(Collectors.groupingBy(BoardShare::getBoardId));
+        Map<UUID, List<UUID>> sharedUserIdsByBoardId = boardShareRepository.findByBoardIdIn(boardIds).stream()
+                .collect(Collectors.groupingBy(
+                        BoardShareMember::getBoardId,
+                        Collectors.mapping(BoardShareMember::getSharedWithUserId, Collectors.toList())
+                ));
 
         return boards.stream()
                 .map(board -> toBoardDto(
                         board,
                         sectionsByBoardId.getOrDefault(board.getId(), List.of()),
-                        sharesByBoardId.getOrDefault(board.getId(), List.of())
+                        sharedUserIdsByBoardId.getOrDefault(board.getId(), List.of())
                 ))
                 .collect(Collectors.toList());
     }
@@ -276,7 +336,7 @@ public class BoardService {
                 .orElseThrow(() -> new RuntimeException("Section not found with id: " + sectionId));
     }
 
-    private BoardDTO toBoardDto(Board board, List<BoardSection> sections, List<BoardShare> shares) {
+    private BoardDTO toBoardDto(Board board, List<BoardSection> sections, List<UUID> sharedWithUserIds) {
         BoardDTO dto = new BoardDTO();
         dto.setId(board.getId());
         dto.setName(board.getName());
@@ -284,8 +344,8 @@ public class BoardService {
         dto.setArchived(board.getArchived());
         dto.setCreatedAt(board.getCreatedAt());
         dto.setUpdatedAt(board.getUpdatedAt());
-        dto.setShared(!shares.isEmpty());
-        dto.setSharedWithUserIds(shares.stream().map(BoardShare::getSharedWithUserId).collect(Collectors.toList()));
+        dto.setShared(!sharedWithUserIds.isEmpty());
+        dto.setSharedWithUserIds(new ArrayList<>(sharedWithUserIds));
         dto.setSections(sections.stream().map(this::toSectionDto).collect(Collectors.toList()));
         return dto;
     }
@@ -295,7 +355,8 @@ public class BoardService {
                 section.getId(),
                 section.getBoardId(),
                 section.getName(),
-                section.getPosition()
+                section.getPosition(),
+                section.getRank()
         );
     }
 
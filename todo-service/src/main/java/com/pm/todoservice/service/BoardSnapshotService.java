@@ -0,0 +1,118 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.dto.BoardSnapshotDTO;
+import com.pm.todoservice.dto.BoardSnapshotSectionDTO;
+import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.model.Board;
+import com.pm.todoservice.model.BoardSection;
+import com.pm.todoservice.repository.BoardRepository;
+import com.pm.todoservice.repository.BoardSectionRepository;
+import com.pm.todoservice.repository.TodoReadRepository;
+import com.pm.todoservice.repository.projection.SectionCardRow;
+import com.pm.todoservice.repository.projection.TodoRow;
+import com.pm.todoservice.security.AuthContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Everything needed to render a board in a fixed number of queries: board, sections, the first cards of every
+// section, their scalar columns with subtask counts, and their tags. Board read access covers every todo in its
+// sections, so authorization is a single (cached) check instead of a per-row visibility predicate.
+@Service
+public class BoardSnapshotService {
+
+    public static final int MAX_TODOS_PER_SECTION = 200;
+
+    private final BoardRepository boardRepository;
+    private final BoardSectionRepository boardSectionRepository;
+    private final BoardAccessService boardAccessService;
+    private final TodoReadRepository todoReadRepository;
+    private final TodoMapper todoMapper;
+
+    public BoardSnapshotService(
+            BoardRepository boardRepository,
+            BoardSectionRepository boardSectionRepository,
+            BoardAccessService boardAccessService,
+            TodoReadRepository todoReadRepository,
+            TodoMapper todoMapper
+    ) {
+        this.boardRepository = boardRepository;
+        this.boardSectionRepository = boardSectionRepository;
+        this.boardAccessService = boardAccessService;
+        this.todoReadRepository = todoReadRepository;
+        this.todoMapper = todoMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public BoardSnapshotDTO getBoardSnapshot(UUID boardId, int todosPerSection, boolean archived, AuthContext authContext) {
+        if (todosPerSection < 1 || todosPerSection > MAX_TODOS_PER_SECTION) {
+            throw new RuntimeException("todosPerSection must be between 1 and " + MAX_TODOS_PER_SECTION);
+        }
+
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new RuntimeException("Board not found with id: " + boardId));
+        boardAccessService.validateReadBoard(board, authContext);
+
+        List<BoardSection> sections = boardSectionRepository.findByBoardIdOrderByRankAscIdAsc(boardId);
+        Map<UUID, BoardSnapshotSectionDTO> sectionsById = new LinkedHashMap<>();
+        for (BoardSection section : sections) {
+            BoardSnapshotSectionDTO dto = new BoardSnapshotSectionDTO();
+            dto.setId(section.getId());
+            dto.setName(section.getName());
+            dto.setPosition(section.getPosition());
+            dto.setRank(section.getRank());
+            sectionsById.put(section.getId(), dto);
+        }
+
+        List<SectionCardRow> cards = todoReadRepository.findSectionCards(sectionsById.keySet(), archived, todosPerSection);
+        if (!cards.isEmpty()) {
+            Set<UUID> todoIds = cards.stream().map(SectionCardRow::todoId).collect(Collectors.toSet());
+            Map<UUID, TodoRow> rowsById = todoReadRepository.findRows(
+                    (root, query, cb) -> root.get("id").in(todoIds),
+                    Sort.unsorted(),
+                    null,
+                    0,
+                    Integer.MAX_VALUE
+            ).stream().collect(Collectors.toMap(TodoRow::id, Function.identity()));
+            Map<UUID, Set<String>> tagsByTodoId = todoReadRepository.findTagsByTodoIds(todoIds);
+
+            // Cards arrive grouped by section in rank order; a row deleted in between is simply skipped.
+            Map<UUID, List<TodoDTO>> todosBySection = new HashMap<>();
+            for (SectionCardRow card : cards) {
+                TodoRow row = rowsById.get(card.todoId());
+                BoardSnapshotSectionDTO section = sectionsById.get(card.sectionId());
+                if (row == null || section == null) {
+                    continue;
+                }
+                section.setTotalTodos(card.sectionTotal());
+                todosBySection.computeIfAbsent(card.sectionId(), id -> new ArrayList<>())
+                        .add(todoMapper.toDto(row, tagsByTodoId.getOrDefault(row.id(), Set.of()), List.of()));
+            }
+            todosBySection.forEach((sectionId, todos) -> {
+                BoardSnapshotSectionDTO section = sectionsById.get(sectionId);
+                section.setTodos(todos);
+                section.setHasMore(section.getTotalTodos() > todos.size());
+            });
+        }
+
+        return new BoardSnapshotDTO(
+                board.getId(),
+                board.getName(),
+                board.getOwnerUserId(),
+                board.getArchived(),
+                board.getCreatedAt(),
+                board.getUpdatedAt(),
+                new ArrayList<>(sectionsById.values())
+        );
+    }
+}
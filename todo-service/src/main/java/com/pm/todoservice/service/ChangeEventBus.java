@@ -0,0 +1,271 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.dto.ChangeNoticeDTO;
+import com.pm.todoservice.event.ChangeCommittedEvent;
+import com.pm.todoservice.exception.ForbiddenException;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import com.pm.todoservice.security.AuthContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed changes from every instance (replayed by ChangeLogTailer) to open server-sent event streams.
+// Subscriptions are indexed by user, board and shared todo, so publishing touches only interested connections. Each
+// connection has a bounded buffer drained by its own virtual thread; a slow client whose buffer fills loses the
+// buffered notices and is told to resync instead.
+@Component
+public class ChangeEventBus implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final BoardAccessService boardAccessService;
+    private final BoardAclCache aclCache;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final Duration heartbeatInterval;
+    private final Duration connectionTimeout;
+    private final Counter overflows;
+
+    private final Map<UUID, Set<Subscription>> byUser = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscription>> byBoard = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscription>> bySharedTodo = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public ChangeEventBus(
+            BoardAccessService boardAccessService,
+            BoardAclCache aclCache,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.buffer-size:256}") int bufferSize,
+            @Value("${app.events.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${app.events.heartbeat-interval:25s}") Duration heartbeatInterval,
+            @Value("${app.events.timeout:30m}") Duration connectionTimeout
+    ) {
+        this.boardAccessService = boardAccessService;
+        this.aclCache = aclCache;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeatInterval = heartbeatInterval;
+        this.connectionTimeout = connectionTimeout;
+        this.overflows = meterRegistry.counter("todo.events.overflows");
+        meterRegistry.gauge("todo.events.connections", connections);
+    }
+
+    // No boardIds: every board the user can read now or gains access to later, plus their own and shared todos.
+    public SseEmitter subscribe(Set<UUID> boardIds, AuthContext authContext) {
+        UUID userId = authContext.userId();
+        boolean followsAccess = boardIds == null || boardIds.isEmpty();
+        Set<UUID> boards;
+        Set<UUID> sharedTodos;
+        if (followsAccess) {
+            BoardAclCache.UserBoardAcl acl = aclCache.boardAcl(userId);
+            boards = new HashSet<>(acl.ownedBoardIds());
+            boards.addAll(acl.sharedBoards().keySet());
+            sharedTodos = aclCache.todoShares(userId).keySet();
+        } else {
+            for (UUID boardId : boardIds) {
+                if (!boardAccessService.canReadBoard(boardId, authContext)) {
+                    throw new ForbiddenException("You do not have access to this board");
+                }
+            }
+            boards = boardIds;
+            sharedTodos = Set.of();
+        }
+
+        SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+        Subscription subscription = new Subscription(authContext, emitter, followsAccess, new ArrayBlockingQueue<>(bufferSize));
+        byUser.compute(userId, (id, subscriptions) -> {
+            if (subscriptions != null && subscriptions.size() >= maxConnectionsPerUser) {
+                throw new RuntimeException("Too many open event streams; at most " + maxConnectionsPerUser + " are allowed");
+            }
+            Set<Subscription> updated = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+        connections.incrementAndGet();
+        boards.forEach(boardId -> follow(byBoard, subscription.boardIds, boardId, subscription));
+        sharedTodos.forEach(todoId -> follow(bySharedTodo, subscription.todoIds, todoId, subscription));
+
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> close(subscription, false));
+        emitter.onError(error -> close(subscription, false));
+        // An idle connection costs a parked virtual thread and its buffer, not a request thread.
+        subscription.drainer = Thread.ofVirtual().name("change-events-" + userId).start(() -> drain(subscription));
+        return emitter;
+    }
+
+    @EventListener
+    public void onChangeCommitted(ChangeCommittedEvent event) {
+        Set<Subscription> recipients = new HashSet<>();
+        collect(byUser, event.ownerUserId(), recipients);
+        collect(byUser, event.audienceUserId(), recipients);
+        collect(byBoard, event.boardId(), recipients);
+        if (event.entityType() == SyncEntityType.TODO) {
+            collect(bySharedTodo, event.entityId(), recipients);
+        }
+        for (Subscription subscription : recipients) {
+            // Never block the tailer thread: a full buffer only raises the flag; the drainer discards the buffer and
+            // tells the client to catch up via /api/sync.
+            if (!subscription.queue.offer(event) && subscription.overflowed.compareAndSet(false, true)) {
+                overflows.increment();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        byUser.values().stream()
+                .flatMap(Set::stream)
+                .toList()
+                .forEach(subscription -> close(subscription, true));
+    }
+
+    private void drain(Subscription subscription) {
+        SseEmitter emitter = subscription.emitter;
+        try {
+            // Sent right away so proxies (the gateway) forward the response headers before the first change.
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (!subscription.closed.get()) {
+                // Flag first, then clear: a notice queued in between is dropped too, but it committed before the
+                // resync is sent, so the client's next /api/sync call returns it.
+                if (subscription.overflowed.getAndSet(false)) {
+                    subscription.queue.clear();
+                    emitter.send(SseEmitter.event().name("resync").data(Map.of("reason", "overflow"), MediaType.APPLICATION_JSON));
+                    continue;
+                }
+                ChangeCommittedEvent event = subscription.queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    // Keeps idle connections open through proxies and detects clients that went away.
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    if (subscription.auth.userId().equals(event.audienceUserId())) {
+                        refreshAccess(subscription, event);
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name("change")
+                            .data(new ChangeNoticeDTO(event.entityType(), event.entityId(), event.boardId(), event.deleted()),
+                                    MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Change event stream for user {} closed: {}", subscription.auth.userId(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(subscription, true);
+        }
+    }
+
+    // A share was granted or revoked for this user: start or stop following the board or todo. Best effort only;
+    // the notice itself still reaches the client, whose next /api/sync call is authoritative.
+    private void refreshAccess(Subscription subscription, ChangeCommittedEvent event) {
+        try {
+            if (event.entityType() == SyncEntityType.BOARD) {
+                boolean readable = boardAccessService.canReadBoard(event.entityId(), subscription.auth);
+                if (!readable) {
+                    unfollow(byBoard, subscription.boardIds, event.entityId(), subscription);
+                } else if (subscription.followsAccess) {
+                    follow(byBoard, subscription.boardIds, event.entityId(), subscription);
+                }
+            } else if (event.entityType() == SyncEntityType.TODO && subscription.followsAccess) {
+                if (aclCache.todoSharePermission(subscription.auth.userId(), event.entityId()).isPresent()) {
+                    follow(bySharedTodo, subscription.todoIds, event.entityId(), subscription);
+                } else {
+                    unfollow(bySharedTodo, subscription.todoIds, event.entityId(), subscription);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh event subscriptions of user {}", subscription.auth.userId(), e);
+        }
+    }
+
+    private void close(Subscription subscription, boolean completeEmitter) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        unindex(byUser, subscription.auth.userId(), subscription);
+        List.copyOf(subscription.boardIds).forEach(boardId -> unfollow(byBoard, subscription.boardIds, boardId, subscription));
+        List.copyOf(subscription.todoIds).forEach(todoId -> unfollow(bySharedTodo, subscription.todoIds, todoId, subscription));
+        connections.decrementAndGet();
+
+        Thread drainer = subscription.drainer;
+        if (drainer != null && drainer != Thread.currentThread()) {
+            drainer.interrupt();
+        }
+        if (completeEmitter) {
+            try {
+                subscription.emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("Change event stream already completed", e);
+            }
+        }
+    }
+
+    private void follow(Map<UUID, Set<Subscription>> index, Set<UUID> keys, UUID key, Subscription subscription) {
+        keys.add(key);
+        index.compute(key, (id, subscriptions) -> {
+            Set<Subscription> updated = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+    }
+
+    private void unfollow(Map<UUID, Set<Subscription>> index, Set<UUID> keys, UUID key, Subscription subscription) {
+        keys.remove(key);
+        unindex(index, key, subscription);
+    }
+
+    // Empty sets are removed so boards and users without listeners leave nothing behind.
+    private void unindex(Map<UUID, Set<Subscription>> index, UUID key, Subscription subscription) {
+        index.computeIfPresent(key, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private void collect(Map<UUID, Set<Subscription>> index, UUID key, Set<Subscription> recipients) {
+        if (key != null) {
+            recipients.addAll(index.getOrDefault(key, Set.of()));
+        }
+    }
+
+    private static final class Subscription {
+        private final AuthContext auth;
+        private final SseEmitter emitter;
+        private final boolean followsAccess;
+        private final BlockingQueue<ChangeCommittedEvent> queue;
+        private final Set<UUID> boardIds = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> todoIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Set by publishers when the buffer is full; only the drainer clears it.
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        private Subscription(AuthContext auth, SseEmitter emitter, boolean followsAccess, BlockingQueue<ChangeCommittedEvent> queue) {
+            this.auth = auth;
+            this.emitter = emitter;
+            this.followsAccess = followsAccess;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.event.BoardAccessChangedEvent;
+import com.pm.todoservice.event.BoardSectionRemovedEvent;
+import com.pm.todoservice.event.ChangeCommittedEvent;
+import com.pm.todoservice.event.TodoChangedEvent;
+import com.pm.todoservice.event.TodoShareChangedEvent;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Writes change_log rows for the sync feed. Changes are collected per transaction (one row per entity) and
+// inserted in beforeCommit, stamped with the writing transaction's id. Writers take no shared lock: readers order
+// the feed by (txid, seq) and stop below the oldest transaction still running (SAFE_TXID_SQL), so a row can never
+// commit behind a position a client has already passed. The price is latency, not throughput: a change shows up
+// in the feed only after every transaction with an older id has finished, so one long transaction holds back
+// the feed (never the writers) for its duration.
+@Component
+public class ChangeLogRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogRecorder.class);
+
+    private static final String INSERT_SQL = "INSERT INTO change_log "
+            + "(seq, txid, entity_type, entity_id, owner_user_id, board_id, audience_user_id, deleted, changed_at) "
+            + "VALUES (nextval('change_log_seq'), pg_current_xact_id()::text::bigint, ?, ?, ?, ?, ?, ?, ?)";
+    // Every transaction below this id has committed or rolled back; rows at or above it may still be on their way.
+    // Read it before the rows: with READ COMMITTED the later statement sees everything committed below it.
+    public static final String SAFE_TXID_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    private static final Object BUFFER_KEY = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoardAccessService boardAccessService;
+    private final Duration retention;
+
+    public ChangeLogRecorder(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            BoardAccessService boardAccessService,
+            @Value("${app.sync.retention:30d}") Duration retention
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.boardAccessService = boardAccessService;
+        this.retention = retention;
+    }
+
+    // Plain listeners run inside the publishing transaction, unlike the after-commit consumers of these events.
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        record(new ChangeCommittedEvent(
+                SyncEntityType.TODO,
+                event.todoId(),
+                event.userId(),
+                boardOf(event.sectionId()),
+                null,
+                event.deleted()
+        ));
+    }
+
+    @EventListener
+    public void onTodoShareChanged(TodoShareChangedEvent event) {
+        record(new ChangeCommittedEvent(SyncEntityType.TODO, event.todoId(), null, null, event.userId(), false));
+    }
+
+    @EventListener
+    public void onBoardAccessChanged(BoardAccessChangedEvent event) {
+        record(new ChangeCommittedEvent(SyncEntityType.BOARD, event.boardId(), null, event.boardId(), event.userId(), false));
+    }
+
+    @EventListener
+    public void onBoardSectionRemoved(BoardSectionRemovedEvent event) {
+        record(new ChangeCommittedEvent(SyncEntityType.BOARD_SECTION, event.sectionId(), null, event.boardId(), null, true));
+    }
+
+    public void recordBoard(UUID boardId) {
+        record(new ChangeCommittedEvent(SyncEntityType.BOARD, boardId, null, boardId, null, false));
+    }
+
+    public void recordSections(UUID boardId, Collection<UUID> sectionIds) {
+        for (UUID sectionId : sectionIds) {
+            record(new ChangeCommittedEvent(SyncEntityType.BOARD_SECTION, sectionId, null, boardId, null, false));
+        }
+    }
+
+    // Readers of the section a todo left must hear about it too, even though they can no longer see it.
+    public void recordTodoLeftSection(UUID todoId, UUID ownerUserId, UUID previousSectionId) {
+        UUID previousBoardId = boardOf(previousSectionId);
+        if (previousBoardId != null) {
+            record(new ChangeCommittedEvent(SyncEntityType.TODO, todoId, ownerUserId, previousBoardId, null, false));
+        }
+    }
+
+    public void recordTodos(UUID sectionId, Map<UUID, UUID> ownerByTodoId) {
+        UUID boardId = boardOf(sectionId);
+        ownerByTodoId.forEach((todoId, ownerUserId) ->
+                record(new ChangeCommittedEvent(SyncEntityType.TODO, todoId, ownerUserId, boardId, null, false)));
+    }
+
+    @Scheduled(cron = "${app.sync.prune-cron:0 45 3 * * *}")
+    public void pruneExpired() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Whole transactions are removed: all rows of one transaction share changed_at.
+                Long prunedThrough = jdbcTemplate.queryForObject(
+                        "SELECT max(txid) FROM change_log WHERE changed_at < ?",
+                        Long.class,
+                        Timestamp.valueOf(LocalDateTime.now().minus(retention))
+                );
+                if (prunedThrough == null) {
+                    return;
+                }
+                jdbcTemplate.update(
+                        "UPDATE change_log_watermark SET pruned_through = greatest(pruned_through, ?) WHERE id = 1",
+                        prunedThrough
+                );
+                int deleted = jdbcTemplate.update("DELETE FROM change_log WHERE txid <= ?", prunedThrough);
+                log.info("Pruned {} change_log rows through txid {}", deleted, prunedThrough);
+            });
+        } catch (RuntimeException e) {
+            log.error("change_log pruning failed", e);
+        }
+    }
+
+    private void record(ChangeCommittedEvent change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> record(change));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<ChangeKey, ChangeCommittedEvent> buffer =
+                (Map<ChangeKey, ChangeCommittedEvent>) TransactionSynchronizationManager.getResource(BUFFER_KEY);
+        if (buffer == null) {
+            Map<ChangeKey, ChangeCommittedEvent> changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(BUFFER_KEY, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(changes.values());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BUFFER_KEY);
+                }
+            });
+            buffer = changes;
+        }
+        // Several writes to one entity in a transaction collapse into one row; audience-specific rows stay separate.
+        buffer.put(new ChangeKey(change.entityType(), change.entityId(), change.boardId(), change.audienceUserId()), change);
+    }
+
+    private void write(Collection<ChangeCommittedEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (ChangeCommittedEvent change : changes) {
+            rows.add(new Object[]{
+                    change.entityType().name(),
+                    change.entityId(),
+                    change.ownerUserId(),
+                    change.boardId(),
+                    change.audienceUserId(),
+                    change.deleted(),
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private UUID boardOf(UUID sectionId) {
+        return sectionId == null ? null : boardAccessService.findBoardIdForSection(sectionId).orElse(null);
+    }
+
+    private record ChangeKey(SyncEntityType entityType, UUID entityId, UUID boardId, UUID audienceUserId) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.event.ChangeCommittedEvent;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// Replays committed change_log rows as ChangeCommittedEvents on every instance, including the one that wrote them,
+// so caches and live subscribers hear about changes made through any instance. Rows are read in the same
+// (txid, seq) order and below the same safe txid as SyncService, so none is skipped. A change reaches listeners
+// within one poll interval after it and every older transaction have finished.
+@Component
+public class ChangeLogTailer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogTailer.class);
+
+    private static final String SELECT_SQL = "SELECT txid, seq, entity_type, entity_id, owner_user_id, board_id, "
+            + "audience_user_id, deleted FROM change_log "
+            + "WHERE (txid, seq) > (?, ?) AND txid < ? ORDER BY txid, seq LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    // Only touched by the scheduler thread; txid -1 until the first poll has found the head.
+    private long lastTxid = -1;
+    private long lastSeq;
+
+    public ChangeLogTailer(
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.change-log.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:1s}")
+    public void poll() {
+        try {
+            long safeTxid = jdbcTemplate.queryForObject(ChangeLogRecorder.SAFE_TXID_SQL, Long.class);
+            if (lastTxid < 0) {
+                // Caches start empty and subscribers only want new changes, so older rows are not replayed.
+                lastTxid = safeTxid;
+                return;
+            }
+
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Row(
+                        rs.getLong("txid"),
+                        rs.getLong("seq"),
+                        new ChangeCommittedEvent(
+                                SyncEntityType.valueOf(rs.getString("entity_type")),
+                                rs.getObject("entity_id", UUID.class),
+                                rs.getObject("owner_user_id", UUID.class),
+                                rs.getObject("board_id", UUID.class),
+                                rs.getObject("audience_user_id", UUID.class),
+                                rs.getBoolean("deleted")
+                        )
+                ), lastTxid, lastSeq, safeTxid, batchSize);
+                for (Row row : rows) {
+                    eventPublisher.publishEvent(row.change());
+                    lastTxid = row.txid();
+                    lastSeq = row.seq();
+                }
+            } while (rows.size() == batchSize);
+
+            // Everything below the safe txid has been replayed.
+            if (safeTxid > lastTxid) {
+                lastTxid = safeTxid;
+                lastSeq = 0;
+            }
+        } catch (RuntimeException e) {
+            // The position only moves past published rows, so the next poll resumes where this one stopped.
+            log.warn("Polling change_log failed", e);
+        }
+    }
+
+    private record Row(long txid, long seq, ChangeCommittedEvent change) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.pm.todoservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fractional order keys: base-36 digits read as a fraction in (0, 1), compared as plain strings (the columns use
+// COLLATE "C"). A key strictly between any two keys always exists, so a move rewrites only the moved row.
+// Keys never end in '0', which keeps room below every key.
+@Component
+public class RankKeys {
+
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Column width (V8). Past REBALANCE_LENGTH a container is queued for background rebalancing.
+    public static final int MAX_LENGTH = 128;
+    private static final int REBALANCE_LENGTH = 24;
+
+    // before == null: start of the list; after == null: end of the list.
+    public String between(String before, String after) {
+        String lower = before != null ? before : "";
+        if (after != null && lower.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " is not before " + after);
+        }
+        return midpoint(lower, after);
+    }
+
+    public boolean needsRebalance(String rank) {
+        return rank != null && rank.length() > REBALANCE_LENGTH;
+    }
+
+    // Evenly spaced, equally short keys for count items, used when rebalancing a container.
+    public List<String> evenlySpaced(int count) {
+        int width = 1;
+        BigInteger space = BigInteger.valueOf(BASE);
+        BigInteger slots = BigInteger.valueOf(count + 1L);
+        // Leave room for roughly BASE inserts between neighbours before keys grow again.
+        while (space.compareTo(slots.multiply(BigInteger.valueOf(BASE))) < 0) {
+            width++;
+            space = space.multiply(BigInteger.valueOf(BASE));
+        }
+
+        BigInteger step = space.divide(slots);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String digits = step.multiply(BigInteger.valueOf(i)).toString(BASE);
+            keys.add(stripTrailingZeros("0".repeat(width - digits.length()) + digits));
+        }
+        return keys;
+    }
+
+    private String midpoint(String lower, String upper) {
+        if (upper != null) {
+            // Shared prefix: recurse on the remainder so keys only grow where they have to.
+            int prefix = 0;
+            while (prefix < upper.length() && digitAt(lower, prefix) == upper.charAt(prefix)) {
+                prefix++;
+            }
+            if (prefix > 0) {
+                return upper.substring(0, prefix) + midpoint(
+                        lower.length() > prefix ? lower.substring(prefix) : "",
+                        upper.substring(prefix)
+                );
+            }
+        }
+
+        int lowDigit = lower.isEmpty() ? 0 : DIGITS.indexOf(lower.charAt(0));
+        int highDigit = upper != null ? DIGITS.indexOf(upper.charAt(0)) : BASE;
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit + 1) / 2));
+        }
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(lower.length() > 1 ? lower.substring(1) : "", null);
+    }
+
+    private char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : '0';
+    }
+
+    private String stripTrailingZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == '0') {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
@@ -0,0 +1,246 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.repository.BoardSectionRepository;
+import com.pm.todoservice.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Ranks for sections within a board and todos within a section. A move computes a key between its new neighbours
+// and writes only the moved row. Containers whose keys grew long (or that hold unranked rows after a bulk move)
+// are renumbered in the background; ties from concurrent moves and overflowing keys are renumbered in place.
+@Service
+public class RankService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankService.class);
+
+    private static final String RANK_SECTIONS_SQL =
+            "SELECT id FROM board_sections WHERE board_id = ? ORDER BY rank NULLS LAST, position, id FOR UPDATE";
+    private static final String RANK_TODOS_SQL =
+            "SELECT id, user_id FROM todos WHERE section_id = ? ORDER BY rank NULLS LAST, created_at, id FOR UPDATE";
+
+    private final RankKeys rankKeys;
+    private final BoardSectionRepository boardSectionRepository;
+    private final TodoRepository todoRepository;
+    private final ChangeLogRecorder changeLogRecorder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<UUID> pendingBoards = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingSections = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RankService(
+            RankKeys rankKeys,
+            BoardSectionRepository boardSectionRepository,
+            TodoRepository todoRepository,
+            ChangeLogRecorder changeLogRecorder,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.rankKeys = rankKeys;
+        this.boardSectionRepository = boardSectionRepository;
+        this.todoRepository = todoRepository;
+        this.changeLogRecorder = changeLogRecorder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public String sectionRankAtEnd(UUID boardId) {
+        return rankAtEnd(boardSectionRepository.findLastRank(boardId), () -> requestBoardRebalance(boardId));
+    }
+
+    // previousId/nextId are the sections that end up directly before/after the moved one; both null moves it last.
+    public String sectionRankBetween(UUID boardId, UUID sectionId, UUID previousId, UUID nextId) {
+        return rankBetween(new Container(
+                "Section",
+                id -> boardSectionRepository.findRank(boardId, id),
+                () -> boardSectionRepository.findLastRankExcluding(boardId, sectionId),
+                rank -> boardSectionRepository.findNextRank(boardId, rank, sectionId),
+                rank -> boardSectionRepository.findPreviousRank(boardId, rank, sectionId),
+                () -> renumberSections(boardId),
+                () -> requestBoardRebalance(boardId)
+        ), sectionId, previousId, nextId);
+    }
+
+    public String todoRankAtEnd(UUID sectionId) {
+        return sectionId == null ? null : todoRanksAtEnd(sectionId, 1).get(0);
+    }
+
+    // Consecutive keys for todos appended together, so a batch keeps its request order.
+    public List<String> todoRanksAtEnd(UUID sectionId, int count) {
+        List<String> ranks = new ArrayList<>(count);
+        String last = todoRepository.findLastRank(sectionId);
+        for (int i = 0; i < count; i++) {
+            last = rankAtEnd(last, () -> requestSectionRebalance(sectionId));
+            ranks.add(last);
+        }
+        return ranks;
+    }
+
+    public String todoRankBetween(UUID sectionId, UUID todoId, UUID previousId, UUID nextId) {
+        return rankBetween(new Container(
+                "Todo",
+                id -> todoRepository.findRank(sectionId, id),
+                () -> todoRepository.findLastRankExcluding(sectionId, todoId),
+                rank -> todoRepository.findNextRank(sectionId, rank, todoId),
+                rank -> todoRepository.findPreviousRank(sectionId, rank, todoId),
+                () -> renumberTodos(sectionId),
+                () -> requestSectionRebalance(sectionId)
+        ), todoId, previousId, nextId);
+    }
+
+    public void requestSectionRebalance(UUID sectionId) {
+        afterCommit(() -> pendingSections.add(sectionId));
+    }
+
+    public void requestBoardRebalance(UUID boardId) {
+        afterCommit(() -> pendingBoards.add(boardId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.ranking.rebalance-interval:30s}")
+    public void rebalancePending() {
+        drain(pendingBoards, this::renumberSections);
+        drain(pendingSections, this::renumberTodos);
+    }
+
+    private String rankAtEnd(String last, Runnable requestRebalance) {
+        String rank = rankKeys.between(last, null);
+        if (rankKeys.needsRebalance(rank)) {
+            requestRebalance.run();
+        }
+        return rank;
+    }
+
+    private String rankBetween(Container container, UUID movedId, UUID previousId, UUID nextId) {
+        if (movedId.equals(previousId) || movedId.equals(nextId)) {
+            throw new RuntimeException(container.label() + " cannot be positioned relative to itself");
+        }
+
+        // Second attempt runs against freshly renumbered keys, which always leave room.
+        for (int attempt = 0; attempt < 2; attempt++) {
+            String lower;
+            String upper;
+            boolean unranked;
+            if (previousId != null) {
+                lower = neighbourRank(container, previousId);
+                upper = nextId != null ? neighbourRank(container, nextId) : lower != null ? container.next().apply(lower) : null;
+                unranked = lower == null || (nextId != null && upper == null);
+            } else if (nextId != null) {
+                upper = neighbourRank(container, nextId);
+                lower = upper != null ? container.previous().apply(upper) : null;
+                unranked = upper == null;
+            } else {
+                lower = container.last().get();
+                upper = null;
+                unranked = false;
+            }
+
+            if (!unranked && (lower == null || upper == null || lower.compareTo(upper) < 0)) {
+                String rank = rankKeys.between(lower, upper);
+                if (rank.length() <= RankKeys.MAX_LENGTH) {
+                    if (rankKeys.needsRebalance(rank)) {
+                        container.requestRebalance().run();
+                    }
+                    return rank;
+                }
+            }
+            container.rebalance().run();
+        }
+        throw new RuntimeException("Could not rank " + container.label().toLowerCase() + " between its neighbours");
+    }
+
+    private String neighbourRank(Container container, UUID neighbourId) {
+        List<String> ranks = container.rankOf().apply(neighbourId);
+        if (ranks.isEmpty()) {
+            throw new RuntimeException(container.label() + " not found next to the moved item: " + neighbourId);
+        }
+        return ranks.get(0);
+    }
+
+    // Runs inside the caller's transaction: pending entity changes are flushed so the renumbering sees them.
+    private void renumberSections(UUID boardId) {
+        entityManager.flush();
+        List<UUID> ids = jdbcTemplate.queryForList(RANK_SECTIONS_SQL, UUID.class, boardId);
+        assignRanks("UPDATE board_sections SET rank = ? WHERE id = ?", ids);
+        changeLogRecorder.recordSections(boardId, ids);
+    }
+
+    private void renumberTodos(UUID sectionId) {
+        entityManager.flush();
+        Map<UUID, UUID> ownerByTodoId = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                RANK_TODOS_SQL,
+                (rs, rowNum) -> ownerByTodoId.put(rs.getObject("id", UUID.class), rs.getObject("user_id", UUID.class)),
+                sectionId
+        );
+        assignRanks("UPDATE todos SET rank = ? WHERE id = ?", List.copyOf(ownerByTodoId.keySet()));
+        changeLogRecorder.recordTodos(sectionId, ownerByTodoId);
+    }
+
+    private void assignRanks(String updateSql, List<UUID> orderedIds) {
+        List<String> ranks = rankKeys.evenlySpaced(orderedIds.size());
+        List<Object[]> updates = new ArrayList<>(orderedIds.size());
+        for (int i = 0; i < orderedIds.size(); i++) {
+            updates.add(new Object[]{ranks.get(i), orderedIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(updateSql, updates);
+    }
+
+    private void drain(Set<UUID> pending, Consumer<UUID> renumber) {
+        for (UUID containerId : List.copyOf(pending)) {
+            pending.remove(containerId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> renumber.accept(containerId));
+            } catch (RuntimeException e) {
+                log.warn("Rank rebalance failed for {}", containerId, e);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Container(
+            String label,
+            Function<UUID, List<String>> rankOf,
+            Supplier<String> last,
+            UnaryOperator<String> next,
+            UnaryOperator<String> previous,
+            Runnable rebalance,
+            Runnable requestRebalance
+    ) {
+    }
+}
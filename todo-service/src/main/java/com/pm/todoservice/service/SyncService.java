@@ -0,0 +1,199 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.dto.BoardDTO;
+import com.pm.todoservice.dto.BoardSectionDTO;
+import com.pm.todoservice.dto.SyncResponseDTO;
+import com.pm.todoservice.dto.SyncTombstoneDTO;
+import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import com.pm.todoservice.security.AuthContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Delta sync over change_log: the token is the last (txid, seq) position a client has seen. Only log rows that
+// could concern the caller are scanned, one keyset path per reason (own todos, own access changes, readable boards,
+// shared todos); the current state of the referenced records is then loaded through the usual access checks, and
+// whatever is gone or hidden becomes a tombstone. Cost follows the number of changes since the token, not the size
+// of the data. Rows of transactions that may still be running are never returned (ChangeLogRecorder).
+@Service
+public class SyncService {
+
+    public static final int MAX_CHANGES = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BoardAclCache aclCache;
+    private final TodoQueryService todoQueryService;
+    private final BoardService boardService;
+
+    public SyncService(
+            JdbcTemplate jdbcTemplate,
+            BoardAclCache aclCache,
+            TodoQueryService todoQueryService,
+            BoardService boardService
+    ) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.aclCache = aclCache;
+        this.todoQueryService = todoQueryService;
+        this.boardService = boardService;
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponseDTO sync(String token, int limit, AuthContext authContext) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_CHANGES);
+        }
+
+        Position since = parseToken(token);
+        long prunedThrough = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT pruned_through FROM change_log_watermark WHERE id = 1", Long.class);
+        long safeTxid = jdbcTemplate.getJdbcTemplate().queryForObject(ChangeLogRecorder.SAFE_TXID_SQL, Long.class);
+        if (since == null || since.txid() <= prunedThrough) {
+            // Everything below the safe txid is in the state the client reloads now; later rows come through sync.
+            SyncResponseDTO response = new SyncResponseDTO();
+            response.setResyncRequired(true);
+            response.setSyncToken(new Position(Math.max(safeTxid, prunedThrough + 1), 0).token());
+            return response;
+        }
+
+        List<ChangeRow> rows = findChanges(since, safeTxid, limit + 1, authContext);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        Map<SyncEntityType, Set<UUID>> changedIds = new EnumMap<>(SyncEntityType.class);
+        for (ChangeRow row : rows) {
+            changedIds.computeIfAbsent(row.entityType(), type -> new LinkedHashSet<>()).add(row.entityId());
+        }
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setHasMore(hasMore);
+        // Without more rows the client has seen everything below the safe txid, even rows it was not shown.
+        // A lagging replica may report an older safe txid; never hand out a token behind the request's.
+        Position next = hasMore ? rows.get(rows.size() - 1).position() : new Position(safeTxid, 0);
+        response.setSyncToken((next.compareTo(since) > 0 ? next : since).token());
+
+        Set<UUID> todoIds = changedIds.getOrDefault(SyncEntityType.TODO, Set.of());
+        List<TodoDTO> todos = todoQueryService.findReadableTodos(todoIds, authContext);
+        response.setTodos(todos);
+        addTombstones(response, SyncEntityType.TODO, todoIds, ids(todos, TodoDTO::getId));
+
+        Set<UUID> boardIds = changedIds.getOrDefault(SyncEntityType.BOARD, Set.of());
+        List<BoardDTO> boards = boardService.findReadableBoards(boardIds, authContext);
+        response.setBoards(boards);
+        addTombstones(response, SyncEntityType.BOARD, boardIds, ids(boards, BoardDTO::getId));
+
+        Set<UUID> sectionIds = changedIds.getOrDefault(SyncEntityType.BOARD_SECTION, Set.of());
+        List<BoardSectionDTO> sections = boardService.findReadableSections(sectionIds, authContext);
+        response.setSections(sections);
+        addTombstones(response, SyncEntityType.BOARD_SECTION, sectionIds, ids(sections, BoardSectionDTO::getId));
+        return response;
+    }
+
+    // One index-ordered branch per path (idx_change_log_*_position), each limited on its own; a row reachable
+    // through several paths is returned once.
+    private List<ChangeRow> findChanges(Position since, long safeTxid, int limit, AuthContext authContext) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sinceTxid", since.txid())
+                .addValue("sinceSeq", since.seq())
+                .addValue("safeTxid", safeTxid)
+                .addValue("limit", limit);
+
+        List<String> branches = new ArrayList<>();
+        if (authContext.isAdmin()) {
+            branches.add(branch(null));
+        } else {
+            UUID userId = authContext.userId();
+            BoardAclCache.UserBoardAcl boardAcl = aclCache.boardAcl(userId);
+            Set<UUID> boardIds = new HashSet<>(boardAcl.ownedBoardIds());
+            boardIds.addAll(boardAcl.sharedBoards().keySet());
+            Set<UUID> sharedTodoIds = aclCache.todoShares(userId).keySet();
+
+            params.addValue("userId", userId);
+            branches.add(branch("owner_user_id = :userId"));
+            branches.add(branch("audience_user_id = :userId"));
+            if (!boardIds.isEmpty()) {
+                params.addValue("boardIds", boardIds);
+                branches.add(branch("board_id IN (:boardIds)"));
+            }
+            if (!sharedTodoIds.isEmpty()) {
+                params.addValue("sharedTodoIds", sharedTodoIds);
+                branches.add(branch("entity_type = 'TODO' AND entity_id IN (:sharedTodoIds)"));
+            }
+        }
+
+        String sql = "SELECT DISTINCT ON (txid, seq) txid, seq, entity_type, entity_id FROM ("
+                + String.join(" UNION ALL ", branches)
+                + ") changes ORDER BY txid, seq LIMIT :limit";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new ChangeRow(
+                new Position(rs.getLong("txid"), rs.getLong("seq")),
+                SyncEntityType.valueOf(rs.getString("entity_type")),
+                rs.getObject("entity_id", UUID.class)
+        ));
+    }
+
+    private String branch(String path) {
+        return "(SELECT txid, seq, entity_type, entity_id FROM change_log WHERE "
+                + (path != null ? path + " AND " : "")
+                + "(txid, seq) > (:sinceTxid, :sinceSeq) AND txid < :safeTxid ORDER BY txid, seq LIMIT :limit)";
+    }
+
+    // Tokens are "<txid>.<seq>"; anything else (including the plain seq tokens used before) needs a resync.
+    private Position parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts = token.trim().split("\\.", -1);
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid sync token");
+        }
+    }
+
+    private <T> Set<UUID> ids(List<T> records, Function<T, UUID> id) {
+        return records.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private void addTombstones(SyncResponseDTO response, SyncEntityType type, Collection<UUID> changedIds, Set<UUID> visibleIds) {
+        for (UUID id : changedIds) {
+            if (!visibleIds.contains(id)) {
+                response.getDeleted().add(new SyncTombstoneDTO(type, id));
+            }
+        }
+    }
+
+    private record ChangeRow(Position position, SyncEntityType entityType, UUID entityId) {
+    }
+
+    private record Position(long txid, long seq) implements Comparable<Position> {
+
+        private String token() {
+            return txid + "." + seq;
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int byTxid = Long.compare(txid, other.txid);
+            return byTxid != 0 ? byTxid : Long.compare(seq, other.seq);
+        }
+    }
+}
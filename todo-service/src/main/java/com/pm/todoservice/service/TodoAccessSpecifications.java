@@ -0,0 +1,205 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.model.Board;
+import com.pm.todoservice.model.BoardSection;
+import com.pm.todoservice.model.BoardShare;
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.TodoShare;
+import com.pm.todoservice.model.enums.BoardSharePermission;
+import com.pm.todoservice.model.enums.TodoSharePermission;
+import com.pm.todoservice.security.AuthContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Picks the cheapest visibility predicate for the requested scope. The cached ACL decides which ownership
+// paths can match at all, so the usual case (no shares) becomes a plain indexed user_id filter.
+@Component
+public class TodoAccessSpecifications {
+
+    private final BoardAccessService boardAccessService;
+    private final BoardAclCache aclCache;
+
+    public TodoAccessSpecifications(BoardAccessService boardAccessService, BoardAclCache aclCache) {
+        this.boardAccessService = boardAccessService;
+        this.aclCache = aclCache;
+    }
+
+    public Specification<Todo> readableBy(AuthContext authContext, UUID boardId, UUID sectionId) {
+        if (sectionId != null) {
+            Optional<UUID> sectionBoardId = boardAccessService.findBoardIdForSection(sectionId);
+            Specification<Todo> scope = inSection(sectionId);
+            if (boardId != null && !sectionBoardId.map(boardId::equals).orElse(false)) {
+                scope = scope.and(inBoard(boardId));
+            }
+            // Whole section is visible through its board: no ownership predicate needed at all.
+            if (sectionBoardId.isPresent() && boardAccessService.canReadBoard(sectionBoardId.get(), authContext)) {
+                return scope;
+            }
+            return scope.and(readableWithoutBoards(authContext));
+        }
+
+        if (boardId != null) {
+            if (boardAccessService.canReadBoard(boardId, authContext)) {
+                return inBoard(boardId);
+            }
+            return inBoard(boardId).and(readableWithoutBoards(authContext));
+        }
+
+        return readableBy(authContext);
+    }
+
+    public Specification<Todo> readableBy(AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        UUID userId = authContext.userId();
+        boolean viaBoards = aclCache.boardAcl(userId).hasAnyBoard();
+        boolean viaShares = !aclCache.todoShares(userId).isEmpty();
+        return (root, query, cb) -> {
+            assert query != null;
+            List<Predicate> paths = new ArrayList<>();
+            paths.add(cb.equal(root.get("userId"), userId));
+            if (viaShares) {
+                paths.add(root.get("id").in(sharedTodoIds(query, cb, userId, List.of(TodoSharePermission.VIEW, TodoSharePermission.EDIT))));
+            }
+            if (viaBoards) {
+                paths.add(root.get("sectionId").in(sectionIdsOfBoards(
+                        query,
+                        cb,
+                        userId,
+                        List.of(BoardSharePermission.VIEW, BoardSharePermission.EDIT)
+                )));
+            }
+            return paths.size() == 1 ? paths.get(0) : cb.or(paths.toArray(Predicate[]::new));
+        };
+    }
+
+    // Mirrors TodoAuthorizationService.validateEditAccess for many todos at once.
+    public Specification<Todo> editableBy(AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        UUID userId = authContext.userId();
+        boolean viaBoards = aclCache.boardAcl(userId).hasAnyBoard();
+        boolean viaShares = aclCache.todoShares(userId).containsValue(TodoSharePermission.EDIT);
+        return (root, query, cb) -> {
+            assert query != null;
+            List<Predicate> paths = new ArrayList<>();
+            paths.add(cb.equal(root.get("userId"), userId));
+            if (viaShares) {
+                paths.add(root.get("id").in(sharedTodoIds(query, cb, userId, List.of(TodoSharePermission.EDIT))));
+            }
+            if (viaBoards) {
+                paths.add(root.get("sectionId").in(sectionIdsOfBoards(query, cb, userId, List.of(BoardSharePermission.EDIT))));
+            }
+            return paths.size() == 1 ? paths.get(0) : cb.or(paths.toArray(Predicate[]::new));
+        };
+    }
+
+    // Mirrors TodoAuthorizationService.validateOwnership: todo owner or owner of the todo's board.
+    public Specification<Todo> ownedBy(AuthContext authContext) {
+        if (authContext.isAdmin()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        UUID userId = authContext.userId();
+        boolean ownsBoards = !aclCache.boardAcl(userId).ownedBoardIds().isEmpty();
+        return (root, query, cb) -> {
+            assert query != null;
+            if (!ownsBoards) {
+                return cb.equal(root.get("userId"), userId);
+            }
+            Subquery<UUID> ownedBoardIds = query.subquery(UUID.class);
+            Root<Board> board = ownedBoardIds.from(Board.class);
+            ownedBoardIds.select(board.get("id")).where(cb.equal(board.get("ownerUserId"), userId));
+
+            Subquery<UUID> sectionIds = query.subquery(UUID.class);
+            Root<BoardSection> section = sectionIds.from(BoardSection.class);
+            sectionIds.select(section.get("id")).where(section.get("boardId").in(ownedBoardIds));
+            return cb.or(cb.equal(root.get("userId"), userId), root.get("sectionId").in(sectionIds));
+        };
+    }
+
+    public Specification<Todo> inBoard(UUID boardId) {
+        return (root, query, cb) -> {
+            assert query != null;
+            Subquery<UUID> sectionIds = query.subquery(UUID.class);
+            Root<BoardSection> section = sectionIds.from(BoardSection.class);
+            sectionIds.select(section.get("id")).where(cb.equal(section.get("boardId"), boardId));
+            return root.get("sectionId").in(sectionIds);
+        };
+    }
+
+    public Specification<Todo> inSection(UUID sectionId) {
+        return (root, query, cb) -> cb.equal(root.get("sectionId"), sectionId);
+    }
+
+    // Own and directly shared todos; used where the board path is already known not to apply.
+    private Specification<Todo> readableWithoutBoards(AuthContext authContext) {
+        UUID userId = authContext.userId();
+        boolean viaShares = !aclCache.todoShares(userId).isEmpty();
+        return (root, query, cb) -> {
+            assert query != null;
+            if (!viaShares) {
+                return cb.equal(root.get("userId"), userId);
+            }
+            return cb.or(
+                    cb.equal(root.get("userId"), userId),
+                    root.get("id").in(sharedTodoIds(query, cb, userId, List.of(TodoSharePermission.VIEW, TodoSharePermission.EDIT)))
+            );
+        };
+    }
+
+    private Subquery<UUID> sharedTodoIds(
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            UUID userId,
+            List<TodoSharePermission> permissions
+    ) {
+        Subquery<UUID> todoIds = query.subquery(UUID.class);
+        Root<TodoShare> share = todoIds.from(TodoShare.class);
+        todoIds.select(share.get("todoId")).where(
+                cb.equal(share.get("sharedWithUserId"), userId),
+                share.get("permission").in(permissions)
+        );
+        return todoIds;
+    }
+
+    private Subquery<UUID> sectionIdsOfBoards(
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            UUID userId,
+            List<BoardSharePermission> permissions
+    ) {
+        Subquery<UUID> ownedBoardIds = query.subquery(UUID.class);
+        Root<Board> board = ownedBoardIds.from(Board.class);
+        ownedBoardIds.select(board.get("id")).where(cb.equal(board.get("ownerUserId"), userId));
+
+        Subquery<UUID> sharedBoardIds = query.subquery(UUID.class);
+        Root<BoardShare> share = sharedBoardIds.from(BoardShare.class);
+        sharedBoardIds.select(share.get("boardId")).where(
+                cb.equal(share.get("sharedWithUserId"), userId),
+                share.get("permission").in(permissions)
+        );
+
+        Subquery<UUID> sectionIds = query.subquery(UUID.class);
+        Root<BoardSection> section = sectionIds.from(BoardSection.class);
+        sectionIds.select(section.get("id")).where(cb.or(
+                section.get("boardId").in(ownedBoardIds),
+                section.get("boardId").in(sharedBoardIds)
+        ));
+        return sectionIds;
+    }
+}
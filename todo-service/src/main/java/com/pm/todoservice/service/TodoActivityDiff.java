@@ -0,0 +1,139 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.model.ActivityPayload.FieldChange;
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.TodoSubtask;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+// Field-level diff between a todo snapshot taken before a change and the saved entity.
+@Component
+public class TodoActivityDiff {
+
+    public static final String TAGS = "tags";
+    public static final String SUBTASK_TITLE = "subtask.title";
+    public static final String SUBTASK_COMPLETED = "subtask.completed";
+    public static final String SUBTASK_ADDED = "subtask.added";
+    public static final String SUBTASK_REMOVED = "subtask.removed";
+
+    private static final Map<String, Function<Todo, String>> FIELDS = fields();
+    // Free text that can be long: the payload only records that it changed, not the old and new values.
+    private static final Set<String> LONG_TEXT_FIELDS = Set.of("description");
+    private static final Set<String> SUBTASK_FIELDS = Set.of(SUBTASK_TITLE, SUBTASK_COMPLETED, SUBTASK_ADDED, SUBTASK_REMOVED);
+
+    // Scalar fields only, so tags and subtasks are not loaded for changes that cannot touch them.
+    public Snapshot snapshot(Todo todo) {
+        return snapshot(todo, false);
+    }
+
+    public Snapshot snapshot(Todo todo, boolean includeCollections) {
+        Map<String, String> values = new LinkedHashMap<>();
+        FIELDS.forEach((field, reader) -> values.put(field, reader.apply(todo)));
+        if (!includeCollections) {
+            return new Snapshot(values, null, null);
+        }
+        return new Snapshot(values, joinTags(todo.getTags()), subtaskStates(todo.getSubtasks()));
+    }
+
+    public List<FieldChange> changes(Snapshot before, Todo after) {
+        List<FieldChange> changes = new ArrayList<>();
+        FIELDS.forEach((field, reader) -> {
+            String from = before.values().get(field);
+            String to = reader.apply(after);
+            if (LONG_TEXT_FIELDS.contains(field)) {
+                if (!Objects.equals(from, to)) {
+                    changes.add(new FieldChange(field, null, null));
+                }
+            } else {
+                addChange(changes, field, from, to);
+            }
+        });
+        if (before.tags() != null) {
+            addChange(changes, TAGS, before.tags(), joinTags(after.getTags()));
+        }
+        if (before.subtasks() != null) {
+            addSubtaskChanges(changes, before.subtasks(), subtaskStates(after.getSubtasks()));
+        }
+        return changes;
+    }
+
+    public List<FieldChange> subtaskChanges(String previousTitle, Boolean previousCompleted, TodoSubtask after) {
+        List<FieldChange> changes = new ArrayList<>();
+        addChange(changes, SUBTASK_TITLE, previousTitle, after.getTitle());
+        addChange(changes, SUBTASK_COMPLETED, Objects.toString(previousCompleted, null), Objects.toString(after.getCompleted(), null));
+        return changes;
+    }
+
+    public String formatTags(Set<String> tags) {
+        return joinTags(tags);
+    }
+
+    public boolean isTrackedField(String field) {
+        return FIELDS.containsKey(field) || TAGS.equals(field) || SUBTASK_FIELDS.contains(field);
+    }
+
+    private void addChange(List<FieldChange> changes, String field, String from, String to) {
+        if (!Objects.equals(from, to)) {
+            changes.add(new FieldChange(field, from, to));
+        }
+    }
+
+    // Subtask lists are replaced as a whole, so entries are compared by list position.
+    private void addSubtaskChanges(List<FieldChange> changes, List<SubtaskState> before, List<SubtaskState> after) {
+        int common = Math.min(before.size(), after.size());
+        for (int i = 0; i < common; i++) {
+            addChange(changes, SUBTASK_TITLE, before.get(i).title(), after.get(i).title());
+            addChange(changes, SUBTASK_COMPLETED, before.get(i).completed(), after.get(i).completed());
+        }
+        for (int i = common; i < after.size(); i++) {
+            changes.add(new FieldChange(SUBTASK_ADDED, null, after.get(i).title()));
+        }
+        for (int i = common; i < before.size(); i++) {
+            changes.add(new FieldChange(SUBTASK_REMOVED, before.get(i).title(), null));
+        }
+    }
+
+    private static Map<String, Function<Todo, String>> fields() {
+        Map<String, Function<Todo, String>> fields = new LinkedHashMap<>();
+        fields.put("title", Todo::getTitle);
+        fields.put("description", Todo::getDescription);
+        fields.put("completed", todo -> Objects.toString(todo.getCompleted(), null));
+        fields.put("userId", todo -> Objects.toString(todo.getUserId(), null));
+        fields.put("sectionId", todo -> Objects.toString(todo.getSectionId(), null));
+        fields.put("rank", Todo::getRank);
+        fields.put("dueDate", todo -> Objects.toString(todo.getDueDate(), null));
+        fields.put("remindAt", todo -> Objects.toString(todo.getRemindAt(), null));
+        fields.put("priority", todo -> Objects.toString(todo.getPriority(), null));
+        fields.put("category", Todo::getCategory);
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static String joinTags(Set<String> tags) {
+        return tags == null ? null : String.join(",", new TreeSet<>(tags));
+    }
+
+    private static List<SubtaskState> subtaskStates(List<TodoSubtask> subtasks) {
+        if (subtasks == null) {
+            return List.of();
+        }
+        return subtasks.stream()
+                .map(subtask -> new SubtaskState(subtask.getTitle(), Objects.toString(subtask.getCompleted(), null)))
+                .toList();
+    }
+
+    // tags and subtasks are null when the snapshot was taken without collections.
+    public record Snapshot(Map<String, String> values, String tags, List<SubtaskState> subtasks) {
+    }
+
+    public record SubtaskState(String title, String completed) {
+    }
+}
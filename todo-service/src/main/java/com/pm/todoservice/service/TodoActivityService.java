@@ -1,49 +1,204 @@
 package com.pm.todoservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pm.todoservice.dto.TodoActivityDTO;
+import com.pm.todoservice.dto.TodoActivityPageDTO;
+import com.pm.todoservice.model.ActivityPayload;
 import com.pm.todoservice.model.TodoActivity;
 import com.pm.todoservice.model.enums.TodoActivityAction;
 import com.pm.todoservice.repository.TodoActivityRepository;
 import com.pm.todoservice.security.AuthContext;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class TodoActivityService {
 
+    private static final int LATEST_ACTIVITY_LIMIT = 100;
+
     private final TodoActivityRepository todoActivityRepository;
+    private final TodoActivityWriter activityWriter;
+    private final TodoActivityDiff activityDiff;
+    private final ObjectMapper objectMapper;
 
-    public TodoActivityService(TodoActivityRepository todoActivityRepository) {
+    public TodoActivityService(
+            TodoActivityRepository todoActivityRepository,
+            TodoActivityWriter activityWriter,
+            TodoActivityDiff activityDiff,
+            ObjectMapper objectMapper
+    ) {
         this.todoActivityRepository = todoActivityRepository;
+        this.activityWriter = activityWriter;
+        this.activityDiff = activityDiff;
+        this.objectMapper = objectMapper;
+    }
+
+    public void log(UUID todoId, TodoActivityAction action, AuthContext authContext) {
+        log(todoId, action, authContext, null);
+    }
+
+    // Handed to the background writer once the surrounding transaction commits; dropped on rollback.
+    public void log(UUID todoId, TodoActivityAction action, AuthContext authContext, ActivityPayload payload) {
+        TodoActivityWriter.Entry entry = toEntry(todoId, action, authContext, payload);
+        afterCommit(() -> activityWriter.submit(entry));
     }
 
-    public void log(UUID todoId, TodoActivityAction action, AuthContext authContext, String details) {
-        TodoActivity activity = new TodoActivity();
-        activity.setTodoId(todoId);
-        activity.setAction(action);
-        activity.setActorUserId(authContext != null ? authContext.userId() : null);
-        activity.setDetails(details);
-        todoActivityRepository.save(activity);
+    // One entry per todo (null payloads allowed), submitted together after commit.
+    public void logAll(Map<UUID, ActivityPayload> payloadsByTodoId, TodoActivityAction action, AuthContext authContext) {
+        if (payloadsByTodoId.isEmpty()) {
+            return;
+        }
+        List<TodoActivityWriter.Entry> entries = new ArrayList<>(payloadsByTodoId.size());
+        payloadsByTodoId.forEach((todoId, payload) -> entries.add(toEntry(todoId, action, authContext, payload)));
+        afterCommit(() -> activityWriter.submitAll(entries));
     }
 
+    // Unpaged endpoint kept for existing clients; it returns only the newest entries. Use getTodoActivityPage.
     public List<TodoActivityDTO> getTodoActivity(UUID todoId) {
-        return todoActivityRepository.findByTodoIdOrderByCreatedAtDesc(todoId)
+        return todoActivityRepository.findLatestByTodoId(todoId, Limit.of(LATEST_ACTIVITY_LIMIT))
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    public TodoActivityPageDTO getTodoActivityPage(UUID todoId, String cursor, int size, String field) {
+        ActivityCursor position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor.trim());
+        List<TodoActivity> activity = field == null || field.isBlank()
+                ? findPage(todoId, position, size + 1)
+                : findPageChanging(todoId, fieldFilter(field.trim()), position, size + 1);
+
+        boolean hasNext = activity.size() > size;
+        if (hasNext) {
+            activity = activity.subList(0, size);
+        }
+        String nextCursor = hasNext ? encodeCursor(activity.get(activity.size() - 1)) : null;
+        return new TodoActivityPageDTO(
+                activity.stream().map(this::toDto).collect(Collectors.toList()),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    private TodoActivityWriter.Entry toEntry(UUID todoId, TodoActivityAction action, AuthContext authContext, ActivityPayload payload) {
+        return new TodoActivityWriter.Entry(
+                UUID.randomUUID(),
+                todoId,
+                action.name(),
+                authContext != null ? authContext.userId() : null,
+                payload != null ? toJson(payload) : null,
+                LocalDateTime.now()
+        );
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private List<TodoActivity> findPage(UUID todoId, ActivityCursor position, int limit) {
+        if (position == null) {
+            return todoActivityRepository.findLatestByTodoId(todoId, Limit.of(limit));
+        }
+        return todoActivityRepository.findByTodoIdBefore(todoId, position.createdAt(), position.id(), Limit.of(limit));
+    }
+
+    private List<TodoActivity> findPageChanging(UUID todoId, String filter, ActivityCursor position, int limit) {
+        if (position == null) {
+            return todoActivityRepository.findLatestByTodoIdMatching(todoId, filter, limit);
+        }
+        return todoActivityRepository.findByTodoIdBeforeMatching(todoId, filter, position.createdAt(), position.id(), limit);
+    }
+
+    private String fieldFilter(String field) {
+        if (!activityDiff.isTrackedField(field)) {
+            throw new RuntimeException("Unsupported activity field: " + field);
+        }
+        return toJson(Map.of("changes", List.of(Map.of("field", field))));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize activity payload", e);
+        }
+    }
+
+    private String encodeCursor(TodoActivity activity) {
+        String token = activity.getCreatedAt() + "|" + activity.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ActivityCursor decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new ActivityCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
     private TodoActivityDTO toDto(TodoActivity activity) {
         return new TodoActivityDTO(
                 activity.getId(),
                 activity.getTodoId(),
                 activity.getAction(),
                 activity.getActorUserId(),
-                activity.getDetails(),
+                activity.getDetails() != null ? activity.getDetails() : describe(activity.getAction(), activity.getPayload()),
+                activity.getPayload(),
                 activity.getCreatedAt()
         );
     }
+
+    // Human-readable summary rendered from the payload, so clients that only show text keep working.
+    private String describe(TodoActivityAction action, ActivityPayload payload) {
+        ActivityPayload.ShareChange share = payload != null ? payload.share() : null;
+        List<ActivityPayload.FieldChange> changes = payload != null && payload.changes() != null ? payload.changes() : List.of();
+        String changed = changes.isEmpty() ? "" : ": " + changes.stream()
+                .map(ActivityPayload.FieldChange::field)
+                .distinct()
+                .collect(Collectors.joining(", "));
+
+        return switch (action) {
+            case CREATED -> "Todo created";
+            case UPDATED -> "Todo updated" + changed;
+            case PATCHED -> "Todo patched" + changed;
+            case ARCHIVED -> "Todo archived";
+            case RESTORED -> "Todo restored";
+            case DELETED -> "Todo deleted permanently";
+            case SUBTASK_ADDED -> "Subtask added";
+            case SUBTASK_UPDATED -> "Subtask updated" + changed;
+            case SUBTASK_DELETED -> "Subtask deleted";
+            case SHARE_ADDED -> share == null ? "Share added"
+                    : "Shared with user " + share.userId() + " as " + share.permission();
+            case SHARE_UPDATED -> share == null ? "Share updated"
+                    : "Updated share for user " + share.userId() + " to " + share.permission();
+            case SHARE_REMOVED -> share == null ? "Share removed"
+                    : "Removed share for user " + share.userId();
+        };
+    }
+
+    private record ActivityCursor(LocalDateTime createdAt, UUID id) {
+    }
 }
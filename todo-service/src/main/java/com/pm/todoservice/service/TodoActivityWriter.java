@@ -0,0 +1,189 @@
+package com.pm.todoservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Writes committed activity entries in batches from a bounded queue on a background thread. When the queue stays
+// full (or the writer is shutting down) the caller writes its entry itself, so entries are never silently dropped.
+// Every insert runs in a transaction of its own: callers submit from afterCommit, where the committed transaction's
+// connection is still bound to the thread and anything written on it would never be committed.
+@Component
+public class TodoActivityWriter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoActivityWriter.class);
+    private static final String INSERT_SQL = "INSERT INTO todo_activity (id, todo_id, action, actor_user_id, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, CAST(? AS jsonb), ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+    private final Counter synchronousWrites;
+    private final Counter failedEntries;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public TodoActivityWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.activity.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.activity.writer.batch-size:200}") int batchSize,
+            @Value("${app.activity.writer.flush-interval:200ms}") Duration flushInterval,
+            @Value("${app.activity.writer.enqueue-timeout:50ms}") Duration enqueueTimeout,
+            @Value("${app.activity.writer.shutdown-timeout:30s}") Duration shutdownTimeout
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.synchronousWrites = meterRegistry.counter("todo.activity.writer.synchronous");
+        this.failedEntries = meterRegistry.counter("todo.activity.writer.failed");
+        meterRegistry.gaugeCollectionSize("todo.activity.writer.queue.size", List.of(), queue);
+
+        this.worker = Thread.ofPlatform().name("todo-activity-writer").start(this::run);
+    }
+
+    public void submit(Entry entry) {
+        if (enqueue(entry)) {
+            return;
+        }
+        // Backpressure: the queue is saturated or closed, so this caller pays for its own insert.
+        synchronousWrites.increment();
+        write(List.of(entry));
+    }
+
+    public void submitAll(List<Entry> entries) {
+        int queued = 0;
+        while (queued < entries.size() && enqueue(entries.get(queued))) {
+            queued++;
+        }
+        if (queued == entries.size()) {
+            return;
+        }
+        // Once the queue refuses one entry the rest are written here in one batch instead of waiting per entry.
+        List<Entry> overflow = entries.subList(queued, entries.size());
+        synchronousWrites.increment(overflow.size());
+        for (int from = 0; from < overflow.size(); from += batchSize) {
+            write(overflow.subList(from, Math.min(from + batchSize, overflow.size())));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(shutdownTimeout.toMillis());
+        if (worker.isAlive()) {
+            worker.interrupt();
+            worker.join(1000);
+        }
+        // Anything the worker could not finish is written here before the datasource goes away.
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private boolean enqueue(Entry entry) {
+        try {
+            return running && queue.offer(entry, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                write(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                newTransaction.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (statement, entry) -> {
+                            statement.setObject(1, entry.id());
+                            statement.setObject(2, entry.todoId());
+                            statement.setString(3, entry.action());
+                            statement.setObject(4, entry.actorUserId());
+                            statement.setString(5, entry.payload());
+                            statement.setTimestamp(6, Timestamp.valueOf(entry.createdAt()));
+                        }));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    failedEntries.increment(entries.size());
+                    log.error("Dropping {} activity entries after {} attempts: {}", entries.size(), MAX_ATTEMPTS, entries, e);
+                    return;
+                }
+                log.warn("Activity batch insert failed (attempt {}), retrying", attempt, e);
+            }
+        }
+    }
+
+    public record Entry(
+            UUID id,
+            UUID todoId,
+            String action,
+            UUID actorUserId,
+            String payload,
+            LocalDateTime createdAt
+    ) {
+    }
+}
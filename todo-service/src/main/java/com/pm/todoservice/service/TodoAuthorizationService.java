@@ -1,37 +1,24 @@
 package com.pm.todoservice.service;
 
 import com.pm.todoservice.exception.ForbiddenException;
-import com.pm.todoservice.model.Board;
-import com.pm.todoservice.model.BoardSection;
 import com.pm.todoservice.model.Todo;
 import com.pm.todoservice.model.enums.TodoSharePermission;
-import com.pm.todoservice.repository.BoardRepository;
-import com.pm.todoservice.repository.BoardSectionRepository;
-import com.pm.todoservice.repository.TodoShareRepository;
 import com.pm.todoservice.security.AuthContext;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class TodoAuthorizationService {
 
-    private final TodoShareRepository todoShareRepository;
-    private final BoardSectionRepository boardSectionRepository;
-    private final BoardRepository boardRepository;
     private final BoardAccessService boardAccessService;
+    private final BoardAclCache aclCache;
 
-    public TodoAuthorizationService(
-            TodoShareRepository todoShareRepository,
-            BoardSectionRepository boardSectionRepository,
-            BoardRepository boardRepository,
-            BoardAccessService boardAccessService
-    ) {
-        this.todoShareRepository = todoShareRepository;
-        this.boardSectionRepository = boardSectionRepository;
-        this.boardRepository = boardRepository;
+    public TodoAuthorizationService(BoardAccessService boardAccessService, BoardAclCache aclCache) {
         this.boardAccessService = boardAccessService;
+        this.aclCache = aclCache;
     }
 
     public void validateOwnership(Todo todo, AuthContext authContext) {
@@ -81,50 +68,34 @@ public class TodoAuthorizationService {
     }
 
     private boolean hasPermission(UUID todoId, UUID userId, List<TodoSharePermission> permissions) {
-        return todoShareRepository.findByTodoIdAndSharedWithUserId(todoId, userId)
-                .map(share -> permissions.contains(share.getPermission()))
+        return aclCache.todoSharePermission(userId, todoId)
+                .map(permissions::contains)
                 .orElse(false);
     }
 
     private boolean hasBoardReadAccess(Todo todo, AuthContext authContext) {
-        return resolveBoard(todo)
-                .map(board -> {
-                    try {
-                        boardAccessService.validateReadBoard(board, authContext);
-                        return true;
-                    } catch (ForbiddenException ignored) {
-                        return false;
-                    }
-                })
+        return resolveBoardId(todo)
+                .map(boardId -> boardAccessService.canReadBoard(boardId, authContext))
                 .orElse(false);
     }
 
     private boolean hasBoardEditAccess(Todo todo, AuthContext authContext) {
-        return resolveBoard(todo)
-                .map(board -> {
-                    try {
-                        boardAccessService.validateEditBoard(board, authContext);
-                        return true;
-                    } catch (ForbiddenException ignored) {
-                        return false;
-                    }
-                })
+        return resolveBoardId(todo)
+                .map(boardId -> boardAccessService.canEditBoard(boardId, authContext))
                 .orElse(false);
     }
 
     private boolean isBoardOwnerOrAdmin(Todo todo, AuthContext authContext) {
-        return resolveBoard(todo)
-                .map(board -> boardAccessService.isBoardOwnerOrAdmin(board, authContext))
+        return resolveBoardId(todo)
+                .map(boardId -> boardAccessService.isBoardOwnerOrAdmin(boardId, authContext))
                 .orElse(false);
     }
 
-    private java.util.Optional<Board> resolveBoard(Todo todo) {
+    private Optional<UUID> resolveBoardId(Todo todo) {
         if (todo.getSectionId() == null) {
-            return java.util.Optional.empty();
+            return Optional.empty();
         }
-        return boardSectionRepository.findById(todo.getSectionId())
-                .map(BoardSection::getBoardId)
-                .flatMap(boardRepository::findById);
+        return boardAccessService.findBoardIdForSection(todo.getSectionId());
     }
 
     public void validateUserScope(UUID userId, AuthContext authContext, String message) {
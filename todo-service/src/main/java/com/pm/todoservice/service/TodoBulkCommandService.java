@@ -0,0 +1,265 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.dto.TodoBulkItemResultDTO;
+import com.pm.todoservice.dto.TodoBulkRequestDTO;
+import com.pm.todoservice.dto.TodoBulkResultDTO;
+import com.pm.todoservice.event.TodoChangedEvent;
+import com.pm.todoservice.model.ActivityPayload;
+import com.pm.todoservice.model.ActivityPayload.FieldChange;
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.enums.TodoActivityAction;
+import com.pm.todoservice.model.enums.TodoBulkItemStatus;
+import com.pm.todoservice.model.enums.TodoBulkOperation;
+import com.pm.todoservice.repository.TodoReadRepository;
+import com.pm.todoservice.repository.TodoRepository;
+import com.pm.todoservice.repository.projection.TodoBulkTargetRow;
+import com.pm.todoservice.security.AuthContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Multi-select actions: one query loads and authorizes every target, then each operation is a single set-based
+// statement over the ids that actually change. Per-id outcomes are reported instead of failing the whole request.
+@Service
+public class TodoBulkCommandService {
+
+    private final TodoRepository todoRepository;
+    private final TodoReadRepository todoReadRepository;
+    private final TodoAccessSpecifications accessSpecifications;
+    private final BoardAccessService boardAccessService;
+    private final TodoValidationService validationService;
+    private final TodoActivityService todoActivityService;
+    private final TodoActivityDiff activityDiff;
+    private final RankService rankService;
+    private final ChangeLogRecorder changeLogRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TodoBulkCommandService(
+            TodoRepository todoRepository,
+            TodoReadRepository todoReadRepository,
+            TodoAccessSpecifications accessSpecifications,
+            BoardAccessService boardAccessService,
+            TodoValidationService validationService,
+            TodoActivityService todoActivityService,
+            TodoActivityDiff activityDiff,
+            RankService rankService,
+            ChangeLogRecorder changeLogRecorder,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.todoRepository = todoRepository;
+        this.todoReadRepository = todoReadRepository;
+        this.accessSpecifications = accessSpecifications;
+        this.boardAccessService = boardAccessService;
+        this.validationService = validationService;
+        this.todoActivityService = todoActivityService;
+        this.activityDiff = activityDiff;
+        this.rankService = rankService;
+        this.changeLogRecorder = changeLogRecorder;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public TodoBulkResultDTO applyBulk(TodoBulkRequestDTO requestDTO, AuthContext authContext) {
+        TodoBulkOperation operation = requestDTO.getOperation();
+        Set<UUID> ids = requestDTO.getIds().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        UUID targetSectionId = requestDTO.getSectionId();
+        Set<String> addedTags = Set.of();
+
+        if (operation == TodoBulkOperation.MOVE) {
+            if (targetSectionId == null) {
+                throw new RuntimeException("sectionId is required for MOVE");
+            }
+            // Entering a board section requires EDIT access to the target board.
+            boardAccessService.validateEditSection(targetSectionId, authContext);
+        }
+        if (operation == TodoBulkOperation.ADD_TAGS) {
+            addedTags = validationService.normalizeTags(requestDTO.getTags());
+            if (addedTags.isEmpty()) {
+                throw new RuntimeException("tags are required for ADD_TAGS");
+            }
+        }
+
+        Specification<Todo> allowed = operation == TodoBulkOperation.DELETE
+                ? accessSpecifications.ownedBy(authContext)
+                : accessSpecifications.editableBy(authContext);
+        Map<UUID, TodoBulkTargetRow> targets = todoReadRepository.findBulkTargets(ids, allowed).stream()
+                .collect(Collectors.toMap(TodoBulkTargetRow::id, Function.identity()));
+        // Only ADD_TAGS compares or records tags.
+        Map<UUID, Set<String>> tagsByTodoId = targets.isEmpty() || operation != TodoBulkOperation.ADD_TAGS
+                ? Map.of()
+                : todoReadRepository.findTagsByTodoIds(targets.keySet());
+
+        Map<UUID, Boolean> sourceSectionEditable = new HashMap<>();
+        List<TodoBulkItemResultDTO> results = new ArrayList<>(ids.size());
+        List<TodoBulkTargetRow> changing = new ArrayList<>();
+        for (UUID id : ids) {
+            TodoBulkTargetRow target = targets.get(id);
+            TodoBulkItemStatus status;
+            if (target == null) {
+                status = TodoBulkItemStatus.NOT_FOUND;
+            } else if (!Boolean.TRUE.equals(target.allowed())
+                    || (operation == TodoBulkOperation.MOVE && !canLeaveSection(target, targetSectionId, authContext, sourceSectionEditable))) {
+                status = TodoBulkItemStatus.FORBIDDEN;
+            } else if (!changes(operation, target, tagsByTodoId.getOrDefault(id, Set.of()), targetSectionId, addedTags)) {
+                status = TodoBulkItemStatus.UNCHANGED;
+            } else {
+                status = TodoBulkItemStatus.UPDATED;
+                changing.add(target);
+            }
+            results.add(new TodoBulkItemResultDTO(id, status));
+        }
+
+        if (!changing.isEmpty()) {
+            apply(operation, changing, tagsByTodoId, targetSectionId, addedTags, authContext);
+        }
+        return new TodoBulkResultDTO(operation, changing.size(), results);
+    }
+
+    private void apply(
+            TodoBulkOperation operation,
+            List<TodoBulkTargetRow> targets,
+            Map<UUID, Set<String>> tagsByTodoId,
+            UUID targetSectionId,
+            Set<String> addedTags,
+            AuthContext authContext
+    ) {
+        List<UUID> ids = targets.stream().map(TodoBulkTargetRow::id).toList();
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, ActivityPayload> activity = new LinkedHashMap<>();
+
+        switch (operation) {
+            case COMPLETE, REOPEN -> {
+                boolean completed = operation == TodoBulkOperation.COMPLETE;
+                todoRepository.updateCompleted(ids, completed, now);
+                targets.forEach(target -> activity.put(target.id(), change(
+                        "completed",
+                        Objects.toString(target.completed(), null),
+                        String.valueOf(completed)
+                )));
+            }
+            case ARCHIVE -> {
+                todoRepository.archiveAll(ids, authContext.userId(), now);
+                targets.forEach(target -> activity.put(target.id(), null));
+            }
+            case RESTORE -> {
+                todoRepository.restoreAll(ids, now);
+                targets.forEach(target -> activity.put(target.id(), null));
+            }
+            case MOVE -> {
+                todoRepository.moveAll(ids, targetSectionId, now);
+                // Moved todos sort last until the target section is renumbered in the background.
+                rankService.requestSectionRebalance(targetSectionId);
+                targets.forEach(target -> changeLogRecorder.recordTodoLeftSection(target.id(), target.userId(), target.sectionId()));
+                targets.forEach(target -> activity.put(target.id(), change(
+                        "sectionId",
+                        Objects.toString(target.sectionId(), null),
+                        targetSectionId.toString()
+                )));
+            }
+            case ADD_TAGS -> {
+                for (String tag : addedTags) {
+                    todoRepository.addTag(ids, tag);
+                }
+                todoRepository.touchAll(ids, now);
+                for (TodoBulkTargetRow target : targets) {
+                    Set<String> before = tagsByTodoId.getOrDefault(target.id(), Set.of());
+                    Set<String> after = new HashSet<>(before);
+                    after.addAll(addedTags);
+                    tagsByTodoId.put(target.id(), after);
+                    activity.put(target.id(), change(TodoActivityDiff.TAGS, activityDiff.formatTags(before), activityDiff.formatTags(after)));
+                }
+            }
+            case DELETE -> {
+                todoRepository.deleteTagsByTodoIds(ids);
+                todoRepository.deleteSubtasksByTodoIds(ids);
+                todoRepository.deleteAllByIds(ids);
+                targets.forEach(target -> activity.put(target.id(), null));
+            }
+        }
+
+        todoActivityService.logAll(activity, activityAction(operation), authContext);
+        for (TodoBulkTargetRow target : targets) {
+            eventPublisher.publishEvent(toEvent(operation, target, targetSectionId));
+        }
+    }
+
+    private boolean changes(
+            TodoBulkOperation operation,
+            TodoBulkTargetRow target,
+            Set<String> currentTags,
+            UUID targetSectionId,
+            Set<String> addedTags
+    ) {
+        return switch (operation) {
+            case COMPLETE -> !Boolean.TRUE.equals(target.completed());
+            case REOPEN -> Boolean.TRUE.equals(target.completed());
+            case ARCHIVE -> !Boolean.TRUE.equals(target.archived());
+            case RESTORE -> Boolean.TRUE.equals(target.archived());
+            case MOVE -> !targetSectionId.equals(target.sectionId());
+            case ADD_TAGS -> !currentTags.containsAll(addedTags);
+            case DELETE -> true;
+        };
+    }
+
+    // Leaving a board section requires EDIT access to the source board; checked once per distinct section.
+    private boolean canLeaveSection(
+            TodoBulkTargetRow target,
+            UUID targetSectionId,
+            AuthContext authContext,
+            Map<UUID, Boolean> sourceSectionEditable
+    ) {
+        UUID sourceSectionId = target.sectionId();
+        if (sourceSectionId == null || sourceSectionId.equals(targetSectionId)) {
+            return true;
+        }
+        return sourceSectionEditable.computeIfAbsent(sourceSectionId, sectionId -> boardAccessService.findBoardIdForSection(sectionId)
+                .map(boardId -> boardAccessService.canEditBoard(boardId, authContext))
+                .orElse(false));
+    }
+
+    private TodoChangedEvent toEvent(
+            TodoBulkOperation operation,
+            TodoBulkTargetRow target,
+            UUID targetSectionId
+    ) {
+        if (operation == TodoBulkOperation.DELETE) {
+            return TodoChangedEvent.deleted(target.id(), target.userId(), target.sectionId());
+        }
+        return new TodoChangedEvent(
+                target.id(),
+                target.userId(),
+                operation == TodoBulkOperation.MOVE ? targetSectionId : target.sectionId(),
+                false
+        );
+    }
+
+    private TodoActivityAction activityAction(TodoBulkOperation operation) {
+        return switch (operation) {
+            case ARCHIVE -> TodoActivityAction.ARCHIVED;
+            case RESTORE -> TodoActivityAction.RESTORED;
+            case DELETE -> TodoActivityAction.DELETED;
+            case COMPLETE, REOPEN, MOVE, ADD_TAGS -> TodoActivityAction.PATCHED;
+        };
+    }
+
+    private ActivityPayload change(String field, String from, String to) {
+        return ActivityPayload.ofChanges(List.of(new FieldChange(field, from, to)));
+    }
+}
@@ -1,27 +1,40 @@
 package com.pm.todoservice.service;
 
+import com.pm.todoservice.dto.SubtaskChangeDTO;
 import com.pm.todoservice.dto.SubtaskDTO;
 import com.pm.todoservice.dto.SubtaskPatchDTO;
 import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.dto.TodoMoveDTO;
 import com.pm.todoservice.dto.TodoPatchDTO;
 import com.pm.todoservice.dto.TodoShareDTO;
 import com.pm.todoservice.dto.TodoShareRequestDTO;
 import com.pm.todoservice.dto.TodoShareUpdateDTO;
+import com.pm.todoservice.event.TodoChangedEvent;
+import com.pm.todoservice.event.TodoShareChangedEvent;
+import com.pm.todoservice.exception.ForbiddenException;
+import com.pm.todoservice.model.ActivityPayload;
 import com.pm.todoservice.model.Todo;
 import com.pm.todoservice.model.TodoShare;
 import com.pm.todoservice.model.TodoSubtask;
 import com.pm.todoservice.model.enums.TodoActivityAction;
-import com.pm.todoservice.repository.BoardRepository;
-import com.pm.todoservice.repository.BoardSectionRepository;
+import com.pm.todoservice.model.enums.TodoSharePermission;
 import com.pm.todoservice.repository.TodoRepository;
 import com.pm.todoservice.repository.TodoShareRepository;
+import com.pm.todoservice.repository.TodoSubtaskRepository;
+import com.pm.todoservice.repository.projection.SubtaskProgressRow;
 import com.pm.todoservice.security.AuthContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class TodoCommandService {
@@ -31,10 +44,13 @@ public class TodoCommandService {
     private final TodoValidationService validationService;
     private final TodoMapper todoMapper;
     private final TodoActivityService todoActivityService;
+    private final TodoActivityDiff activityDiff;
     private final TodoShareRepository todoShareRepository;
-    private final BoardSectionRepository boardSectionRepository;
-    private final BoardRepository boardRepository;
+    private final TodoSubtaskRepository todoSubtaskRepository;
     private final BoardAccessService boardAccessService;
+    private final RankService rankService;
+    private final ChangeLogRecorder changeLogRecorder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TodoCommandService(
             TodoRepository todoRepository,
@@ -42,55 +58,83 @@ public class TodoCommandService {
             TodoValidationService validationService,
             TodoMapper todoMapper,
             TodoActivityService todoActivityService,
+            TodoActivityDiff activityDiff,
             TodoShareRepository todoShareRepository,
-            BoardSectionRepository boardSectionRepository,
-            BoardRepository boardRepository,
-            BoardAccessService boardAccessService
+            TodoSubtaskRepository todoSubtaskRepository,
+            BoardAccessService boardAccessService,
+            RankService rankService,
+            ChangeLogRecorder changeLogRecorder,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.todoRepository = todoRepository;
         this.authorizationService = authorizationService;
         this.validationService = validationService;
         this.todoMapper = todoMapper;
         this.todoActivityService = todoActivityService;
+        this.activityDiff = activityDiff;
         this.todoShareRepository = todoShareRepository;
-        this.boardSectionRepository = boardSectionRepository;
-        this.boardRepository = boardRepository;
+        this.todoSubtaskRepository = todoSubtaskRepository;
         this.boardAccessService = boardAccessService;
+        this.rankService = rankService;
+        this.changeLogRecorder = changeLogRecorder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public TodoDTO createTodo(TodoDTO todoDTO, AuthContext authContext) {
-        Todo todo = new Todo();
-        todo.setTitle(todoDTO.getTitle());
-        todo.setDescription(todoDTO.getDescription());
-        todo.setCompleted(todoDTO.getCompleted());
-        todo.setDueDate(todoDTO.getDueDate());
-        todo.setRemindAt(todoDTO.getRemindAt());
-        todo.setPriority(validationService.resolvePriority(todoDTO.getPriority()));
-        todo.setCategory(validationService.normalizeCategory(todoDTO.getCategory()));
-        todo.setTags(validationService.normalizeTags(todoDTO.getTags()));
-        todo.setSubtasks(validationService.normalizeSubtasks(todoDTO.getSubtasks()));
-        todo.setSectionId(todoDTO.getSectionId());
-
-        validationService.validateSchedule(todo.getDueDate(), todo.getRemindAt());
+        Todo todo = newTodo(todoDTO, authContext);
         validateSectionEditAccess(todo.getSectionId(), authContext);
-
-        if (authContext.isAdmin()) {
-            todo.setUserId(todoDTO.getUserId() != null ? todoDTO.getUserId() : authContext.userId());
-        } else {
-            todo.setUserId(authContext.userId());
-        }
+        todo.setRank(rankService.todoRankAtEnd(todo.getSectionId()));
 
         Todo savedTodo = todoRepository.save(todo);
-        todoActivityService.log(savedTodo.getId(), TodoActivityAction.CREATED, authContext, "Todo created");
+        recordChange(savedTodo);
+        todoActivityService.log(savedTodo.getId(), TodoActivityAction.CREATED, authContext);
         return todoMapper.toDto(savedTodo);
     }
 
+    // Validates every payload before writing; inserts (todos, tags, subtasks) are batched by Hibernate at flush.
+    @Transactional
+    public List<TodoDTO> createTodos(List<TodoDTO> todoDTOs, AuthContext authContext) {
+        List<Todo> todos = new ArrayList<>(todoDTOs.size());
+        for (int i = 0; i < todoDTOs.size(); i++) {
+            try {
+                todos.add(newTodo(todoDTOs.get(i), authContext));
+            } catch (ForbiddenException e) {
+                // Same status as a single create; the index only prefixes the message.
+                throw new ForbiddenException("todos[" + i + "]: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("todos[" + i + "]: " + e.getMessage(), e);
+            }
+        }
+
+        // Section permissions and ranks are resolved once per distinct section instead of once per todo.
+        Map<UUID, List<Todo>> todosBySection = todos.stream()
+                .filter(todo -> todo.getSectionId() != null)
+                .collect(Collectors.groupingBy(Todo::getSectionId, LinkedHashMap::new, Collectors.toList()));
+        todosBySection.forEach((sectionId, sectionTodos) -> {
+            validateSectionEditAccess(sectionId, authContext);
+            List<String> ranks = rankService.todoRanksAtEnd(sectionId, sectionTodos.size());
+            for (int i = 0; i < sectionTodos.size(); i++) {
+                sectionTodos.get(i).setRank(ranks.get(i));
+            }
+        });
+
+        List<Todo> savedTodos = todoRepository.saveAll(todos);
+        Map<UUID, ActivityPayload> activity = new LinkedHashMap<>();
+        for (Todo savedTodo : savedTodos) {
+            recordChange(savedTodo);
+            activity.put(savedTodo.getId(), null);
+        }
+        todoActivityService.logAll(activity, TodoActivityAction.CREATED, authContext);
+        return savedTodos.stream().map(todoMapper::toDto).collect(Collectors.toList());
+    }
+
     @Transactional
     public TodoDTO updateTodo(UUID id, TodoDTO todoDTO, AuthContext authContext) {
         Todo todo = findByIdOrThrow(id);
         authorizationService.validateEditAccess(todo, authContext);
         validateSectionTransitionAccess(todo.getSectionId(), todoDTO.getSectionId(), authContext);
+        TodoActivityDiff.Snapshot before = activityDiff.snapshot(todo, true);
 
         todo.setTitle(todoDTO.getTitle());
         todo.setDescription(todoDTO.getDescription());
@@ -101,7 +145,7 @@ public class TodoCommandService {
         todo.setCategory(validationService.normalizeCategory(todoDTO.getCategory()));
         todo.setTags(validationService.normalizeTags(todoDTO.getTags()));
         todo.setSubtasks(validationService.normalizeSubtasks(todoDTO.getSubtasks()));
-        todo.setSectionId(todoDTO.getSectionId());
+        changeSection(todo, todoDTO.getSectionId());
 
         validationService.validateSchedule(todo.getDueDate(), todo.getRemindAt());
         validateSectionEditAccess(todo.getSectionId(), authContext);
@@ -111,7 +155,13 @@ public class TodoCommandService {
         }
 
         Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.UPDATED, authContext, "Todo updated");
+        recordChange(updatedTodo);
+        todoActivityService.log(
+                updatedTodo.getId(),
+                TodoActivityAction.UPDATED,
+                authContext,
+                ActivityPayload.ofChanges(activityDiff.changes(before, updatedTodo))
+        );
         return todoMapper.toDto(updatedTodo);
     }
 
@@ -119,6 +169,7 @@ public class TodoCommandService {
     public TodoDTO patchTodo(UUID id, TodoPatchDTO patchDTO, AuthContext authContext) {
         Todo todo = findByIdOrThrow(id);
         authorizationService.validateEditAccess(todo, authContext);
+        TodoActivityDiff.Snapshot before = activityDiff.snapshot(todo, patchDTO.getTags() != null || patchDTO.getSubtasks() != null);
 
         if (patchDTO.getTitle() != null) {
             todo.setTitle(validationService.normalizePatchTitle(patchDTO.getTitle()));
@@ -140,7 +191,7 @@ public class TodoCommandService {
 
         if (patchDTO.getSectionId() != null) {
             validateSectionTransitionAccess(todo.getSectionId(), patchDTO.getSectionId(), authContext);
-            todo.setSectionId(patchDTO.getSectionId());
+            changeSection(todo, patchDTO.getSectionId());
             validateSectionEditAccess(todo.getSectionId(), authContext);
         }
 
@@ -171,7 +222,43 @@ public class TodoCommandService {
         validationService.validateSchedule(todo.getDueDate(), todo.getRemindAt());
 
         Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.PATCHED, authContext, "Todo patched");
+        recordChange(updatedTodo);
+        todoActivityService.log(
+                updatedTodo.getId(),
+                TodoActivityAction.PATCHED,
+                authContext,
+                ActivityPayload.ofChanges(activityDiff.changes(before, updatedTodo))
+        );
+        return todoMapper.toDto(updatedTodo);
+    }
+
+    // Drag-and-drop: writes only this todo's section and rank.
+    @Transactional
+    public TodoDTO moveTodo(UUID id, TodoMoveDTO moveDTO, AuthContext authContext) {
+        Todo todo = findByIdOrThrow(id);
+        authorizationService.validateEditAccess(todo, authContext);
+        UUID targetSectionId = moveDTO.getSectionId() != null ? moveDTO.getSectionId() : todo.getSectionId();
+        if (targetSectionId == null) {
+            throw new RuntimeException("Todo must be in a section to be ordered");
+        }
+        validateSectionTransitionAccess(todo.getSectionId(), targetSectionId, authContext);
+        validateSectionEditAccess(targetSectionId, authContext);
+        TodoActivityDiff.Snapshot before = activityDiff.snapshot(todo);
+
+        if (!targetSectionId.equals(todo.getSectionId())) {
+            changeLogRecorder.recordTodoLeftSection(id, todo.getUserId(), todo.getSectionId());
+        }
+        todo.setSectionId(targetSectionId);
+        todo.setRank(rankService.todoRankBetween(targetSectionId, id, moveDTO.getPreviousId(), moveDTO.getNextId()));
+
+        Todo updatedTodo = todoRepository.save(todo);
+        recordChange(updatedTodo);
+        todoActivityService.log(
+                updatedTodo.getId(),
+                TodoActivityAction.PATCHED,
+                authContext,
+                ActivityPayload.ofChanges(activityDiff.changes(before, updatedTodo))
+        );
         return todoMapper.toDto(updatedTodo);
     }
 
@@ -180,68 +267,61 @@ public class TodoCommandService {
         Todo todo = findByIdOrThrow(id);
         authorizationService.validateOwnership(todo, authContext);
         todoRepository.deleteById(id);
-        todoActivityService.log(id, TodoActivityAction.DELETED, authContext, "Todo deleted permanently");
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(id, todo.getUserId(), todo.getSectionId()));
+        todoActivityService.log(id, TodoActivityAction.DELETED, authContext);
     }
 
     @Transactional
     public long deleteAllTodosByUserId(UUID userId, AuthContext authContext) {
         authorizationService.validateUserScope(userId, authContext, "You can only delete your own todos");
-        return todoRepository.deleteByUserId(userId);
+        List<Todo> deletedTodos = todoRepository.deleteByUserId(userId);
+        for (Todo todo : deletedTodos) {
+            eventPublisher.publishEvent(TodoChangedEvent.deleted(todo.getId(), todo.getUserId(), todo.getSectionId()));
+        }
+        return deletedTodos.size();
     }
 
     @Transactional
     public TodoDTO addSubtask(UUID todoId, SubtaskDTO subtaskDTO, AuthContext authContext) {
-        Todo todo = findByIdOrThrow(todoId);
-        authorizationService.validateEditAccess(todo, authContext);
-
-        String title = validationService.normalizeSubtaskTitle(subtaskDTO.getTitle());
-        TodoSubtask newSubtask = new TodoSubtask(
-                title,
-                subtaskDTO.getCompleted() != null && subtaskDTO.getCompleted()
-        );
-
-        List<TodoSubtask> subtasks = todo.getSubtasks();
-        subtasks.add(newSubtask);
-        todo.setSubtasks(subtasks);
+        Todo todo = findEditableTodo(todoId, authContext);
+        appendSubtask(todo, subtaskDTO, authContext);
+        // Subtasks are loaded here, after the insert, only because the full todo is returned.
+        return todoMapper.toDto(todo);
+    }
 
-        Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.SUBTASK_ADDED, authContext, "Subtask added");
-        return todoMapper.toDto(updatedTodo);
+    @Transactional
+    public SubtaskChangeDTO addSubtaskSummary(UUID todoId, SubtaskDTO subtaskDTO, AuthContext authContext) {
+        Todo todo = findEditableTodo(todoId, authContext);
+        SubtaskDTO added = appendSubtask(todo, subtaskDTO, authContext);
+        return toSubtaskChange(todoId, added, false);
     }
 
     @Transactional
     public TodoDTO patchSubtask(UUID todoId, UUID subtaskId, SubtaskPatchDTO patchDTO, AuthContext authContext) {
-        Todo todo = findByIdOrThrow(todoId);
-        authorizationService.validateEditAccess(todo, authContext);
-
-        TodoSubtask subtask = findSubtaskOrThrow(todo, subtaskId);
-
-        if (patchDTO.getTitle() != null) {
-            subtask.setTitle(validationService.normalizeSubtaskTitle(patchDTO.getTitle()));
-        }
-
-        if (patchDTO.getCompleted() != null) {
-            subtask.setCompleted(patchDTO.getCompleted());
-        }
+        Todo todo = findEditableTodo(todoId, authContext);
+        applySubtaskPatch(todo, subtaskId, patchDTO, authContext);
+        return todoMapper.toDto(todo);
+    }
 
-        Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.SUBTASK_UPDATED, authContext, "Subtask updated");
-        return todoMapper.toDto(updatedTodo);
+    @Transactional
+    public SubtaskChangeDTO patchSubtaskSummary(UUID todoId, UUID subtaskId, SubtaskPatchDTO patchDTO, AuthContext authContext) {
+        Todo todo = findEditableTodo(todoId, authContext);
+        SubtaskDTO patched = applySubtaskPatch(todo, subtaskId, patchDTO, authContext);
+        return toSubtaskChange(todoId, patched, false);
     }
 
     @Transactional
     public TodoDTO deleteSubtask(UUID todoId, UUID subtaskId, AuthContext authContext) {
-        Todo todo = findByIdOrThrow(todoId);
-        authorizationService.validateEditAccess(todo, authContext);
-
-        boolean removed = todo.getSubtasks().removeIf(subtask -> subtaskId.equals(subtask.getId()));
-        if (!removed) {
-            throw new RuntimeException("Subtask not found with id: " + subtaskId);
-        }
+        Todo todo = findEditableTodo(todoId, authContext);
+        removeSubtask(todo, subtaskId, authContext);
+        return todoMapper.toDto(todo);
+    }
 
-        Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.SUBTASK_DELETED, authContext, "Subtask deleted");
-        return todoMapper.toDto(updatedTodo);
+    @Transactional
+    public SubtaskChangeDTO deleteSubtaskSummary(UUID todoId, UUID subtaskId, AuthContext authContext) {
+        Todo todo = findEditableTodo(todoId, authContext);
+        SubtaskDTO removed = removeSubtask(todo, subtaskId, authContext);
+        return toSubtaskChange(todoId, removed, true);
     }
 
     @Transactional
@@ -250,11 +330,12 @@ public class TodoCommandService {
         authorizationService.validateEditAccess(todo, authContext);
 
         todo.setArchived(true);
-        todo.setArchivedAt(java.time.LocalDateTime.now());
+        todo.setArchivedAt(LocalDateTime.now());
         todo.setArchivedBy(authContext.userId());
 
         Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.ARCHIVED, authContext, "Todo archived");
+        recordChange(updatedTodo);
+        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.ARCHIVED, authContext);
         return todoMapper.toDto(updatedTodo);
     }
 
@@ -268,7 +349,8 @@ public class TodoCommandService {
         todo.setArchivedBy(null);
 
         Todo updatedTodo = todoRepository.save(todo);
-        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.RESTORED, authContext, "Todo restored");
+        recordChange(updatedTodo);
+        todoActivityService.log(updatedTodo.getId(), TodoActivityAction.RESTORED, authContext);
         return todoMapper.toDto(updatedTodo);
     }
 
@@ -292,11 +374,12 @@ public class TodoCommandService {
         share.setCreatedBy(authContext.userId());
 
         TodoShare savedShare = todoShareRepository.save(share);
+        eventPublisher.publishEvent(new TodoShareChangedEvent(todoId, requestDTO.getSharedWithUserId()));
         todoActivityService.log(
                 todoId,
                 TodoActivityAction.SHARE_ADDED,
                 authContext,
-                "Shared with user " + requestDTO.getSharedWithUserId() + " as " + requestDTO.getPermission()
+                ActivityPayload.ofShare(requestDTO.getSharedWithUserId(), requestDTO.getPermission().name(), null)
         );
         return toShareDto(savedShare);
     }
@@ -309,14 +392,16 @@ public class TodoCommandService {
         TodoShare share = todoShareRepository.findByTodoIdAndSharedWithUserId(todoId, sharedUserId)
                 .orElseThrow(() -> new RuntimeException("Share not found for this user"));
 
+        TodoSharePermission previousPermission = share.getPermission();
         share.setPermission(requestDTO.getPermission());
         TodoShare savedShare = todoShareRepository.save(share);
+        eventPublisher.publishEvent(new TodoShareChangedEvent(todoId, sharedUserId));
 
         todoActivityService.log(
                 todoId,
                 TodoActivityAction.SHARE_UPDATED,
                 authContext,
-                "Updated share for user " + sharedUserId + " to " + requestDTO.getPermission()
+                ActivityPayload.ofShare(sharedUserId, requestDTO.getPermission().name(), previousPermission.name())
         );
         return toShareDto(savedShare);
     }
@@ -330,23 +415,141 @@ public class TodoCommandService {
                 .orElseThrow(() -> new RuntimeException("Share not found for this user"));
 
         todoShareRepository.delete(share);
+        eventPublisher.publishEvent(new TodoShareChangedEvent(todoId, sharedUserId));
         todoActivityService.log(
                 todoId,
                 TodoActivityAction.SHARE_REMOVED,
                 authContext,
-                "Removed share for user " + sharedUserId
+                ActivityPayload.ofShare(sharedUserId, null, share.getPermission().name())
         );
     }
 
+    private Todo newTodo(TodoDTO todoDTO, AuthContext authContext) {
+        Todo todo = new Todo();
+        todo.setTitle(todoDTO.getTitle());
+        todo.setDescription(todoDTO.getDescription());
+        todo.setCompleted(todoDTO.getCompleted());
+        todo.setDueDate(todoDTO.getDueDate());
+        todo.setRemindAt(todoDTO.getRemindAt());
+        todo.setPriority(validationService.resolvePriority(todoDTO.getPriority()));
+        todo.setCategory(validationService.normalizeCategory(todoDTO.getCategory()));
+        todo.setTags(validationService.normalizeTags(todoDTO.getTags()));
+        todo.setSubtasks(validationService.normalizeSubtasks(todoDTO.getSubtasks()));
+        todo.setSectionId(todoDTO.getSectionId());
+
+        validationService.validateSchedule(todo.getDueDate(), todo.getRemindAt());
+
+        if (authContext.isAdmin()) {
+            todo.setUserId(todoDTO.getUserId() != null ? todoDTO.getUserId() : authContext.userId());
+        } else {
+            todo.setUserId(authContext.userId());
+        }
+        return todo;
+    }
+
+    // A todo entering another section goes to its end.
+    private void changeSection(Todo todo, UUID sectionId) {
+        if (!Objects.equals(todo.getSectionId(), sectionId)) {
+            changeLogRecorder.recordTodoLeftSection(todo.getId(), todo.getUserId(), todo.getSectionId());
+            todo.setSectionId(sectionId);
+            todo.setRank(rankService.todoRankAtEnd(sectionId));
+        }
+    }
+
+    // Becomes a change_log row (ChangeLogRecorder); caches and the search index on every instance follow from there.
+    // Subtask rows change without the todo row being dirty, so updatedAt is bumped explicitly; otherwise the todo
+    // keeps its place in updatedAt ordering and cursors.
+    private void touch(Todo todo) {
+        todo.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private void recordChange(Todo todo) {
+        eventPublisher.publishEvent(TodoChangedEvent.updated(todo));
+    }
+
     private Todo findByIdOrThrow(UUID id) {
         return todoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Todo not found with id: " + id));
     }
 
-    private TodoSubtask findSubtaskOrThrow(Todo todo, UUID subtaskId) {
-        return todo.getSubtasks().stream()
-                .filter(subtask -> subtaskId.equals(subtask.getId()))
-                .findFirst()
+    // Subtask writes touch only their own row; the todo's subtask and tag collections are never loaded.
+    private SubtaskDTO appendSubtask(Todo todo, SubtaskDTO subtaskDTO, AuthContext authContext) {
+        String title = validationService.normalizeSubtaskTitle(subtaskDTO.getTitle());
+        boolean completed = subtaskDTO.getCompleted() != null && subtaskDTO.getCompleted();
+        UUID subtaskId = UUID.randomUUID();
+
+        todoSubtaskRepository.append(todo.getId(), subtaskId, title, completed, TodoSubtask.POSITION_GAP);
+        touch(todo);
+        recordChange(todo);
+        todoActivityService.log(
+                todo.getId(),
+                TodoActivityAction.SUBTASK_ADDED,
+                authContext,
+                ActivityPayload.ofSubtask(subtaskId, title, List.of())
+        );
+        return new SubtaskDTO(subtaskId, title, completed);
+    }
+
+    private SubtaskDTO applySubtaskPatch(Todo todo, UUID subtaskId, SubtaskPatchDTO patchDTO, AuthContext authContext) {
+        TodoSubtask subtask = findSubtaskOrThrow(todo.getId(), subtaskId);
+        String previousTitle = subtask.getTitle();
+        Boolean previousCompleted = subtask.getCompleted();
+
+        if (patchDTO.getTitle() != null) {
+            subtask.setTitle(validationService.normalizeSubtaskTitle(patchDTO.getTitle()));
+        }
+
+        if (patchDTO.getCompleted() != null) {
+            subtask.setCompleted(patchDTO.getCompleted());
+        }
+
+        // Dirty checking flushes a single-row UPDATE.
+        touch(todo);
+        recordChange(todo);
+        todoActivityService.log(
+                todo.getId(),
+                TodoActivityAction.SUBTASK_UPDATED,
+                authContext,
+                ActivityPayload.ofSubtask(
+                        subtaskId,
+                        subtask.getTitle(),
+                        activityDiff.subtaskChanges(previousTitle, previousCompleted, subtask)
+                )
+        );
+        return new SubtaskDTO(subtask.getId(), subtask.getTitle(), subtask.getCompleted());
+    }
+
+    private SubtaskDTO removeSubtask(Todo todo, UUID subtaskId, AuthContext authContext) {
+        TodoSubtask subtask = findSubtaskOrThrow(todo.getId(), subtaskId);
+        // Positions are sparse, so the remaining subtasks keep theirs.
+        todoSubtaskRepository.deleteByIdAndTodoId(subtaskId, todo.getId());
+        touch(todo);
+        recordChange(todo);
+        todoActivityService.log(
+                todo.getId(),
+                TodoActivityAction.SUBTASK_DELETED,
+                authContext,
+                ActivityPayload.ofSubtask(subtaskId, subtask.getTitle(), List.of())
+        );
+        return new SubtaskDTO(subtask.getId(), subtask.getTitle(), subtask.getCompleted());
+    }
+
+    private SubtaskChangeDTO toSubtaskChange(UUID todoId, SubtaskDTO subtask, boolean deleted) {
+        SubtaskProgressRow progress = todoSubtaskRepository.findProgressByTodoId(todoId);
+        int total = progress.total() != null ? progress.total().intValue() : 0;
+        int completed = progress.completed() != null ? progress.completed().intValue() : 0;
+        int percent = total == 0 ? 0 : (int) Math.round((completed * 100.0) / total);
+        return new SubtaskChangeDTO(todoId, subtask, deleted, completed, total, percent);
+    }
+
+    private Todo findEditableTodo(UUID todoId, AuthContext authContext) {
+        Todo todo = findByIdOrThrow(todoId);
+        authorizationService.validateEditAccess(todo, authContext);
+        return todo;
+    }
+
+    private TodoSubtask findSubtaskOrThrow(UUID todoId, UUID subtaskId) {
+        return todoSubtaskRepository.findByIdAndTodoId(subtaskId, todoId)
                 .orElseThrow(() -> new RuntimeException("Subtask not found with id: " + subtaskId));
     }
 
@@ -355,14 +558,7 @@ public class TodoCommandService {
             return;
         }
 
-        java.util.UUID boardId = boardSectionRepository.findById(sectionId)
-                .orElseThrow(() -> new RuntimeException("Section not found with id: " + sectionId))
-                .getBoardId();
-
-        com.pm.todoservice.model.Board board = boardRepository.findById(boardId)
-                .orElseThrow(() -> new RuntimeException("Board not found with id: " + boardId));
-
-        boardAccessService.validateEditBoard(board, authContext);
+        boardAccessService.validateEditSection(sectionId, authContext);
     }
 
     private void validateSectionTransitionAccess(UUID currentSectionId, UUID targetSectionId, AuthContext authContext) {
@@ -0,0 +1,142 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.enums.TodoPriority;
+import com.pm.todoservice.repository.TodoReadRepository;
+import com.pm.todoservice.repository.projection.TodoRow;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset pagination over a single sort field with id as tiebreaker. Null values sort last
+// ascending and first descending, matching PostgreSQL's default null ordering.
+@Component
+public class TodoCursorPagination {
+
+    private static final String SEPARATOR = "\n";
+
+    public Sort keysetSort(Sort sort) {
+        Sort.Order order = primaryOrder(sort);
+        return Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+    }
+
+    public Specification<Todo> after(String cursor, Sort sort) {
+        Sort.Order order = primaryOrder(sort);
+        Position position = decode(cursor, order);
+        boolean ascending = order.isAscending();
+
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> field = root.get(order.getProperty());
+            Path<UUID> id = root.get("id");
+            Predicate sameFieldLaterId = ascending ? cb.greaterThan(id, position.id()) : cb.lessThan(id, position.id());
+
+            if (position.value() == null) {
+                Predicate laterNull = cb.and(cb.isNull(field), sameFieldLaterId);
+                return ascending ? laterNull : cb.or(laterNull, cb.isNotNull(field));
+            }
+
+            Predicate laterValue = cb.or(
+                    beyond(cb, field, position.value(), ascending),
+                    cb.and(cb.equal(field, position.value()), sameFieldLaterId)
+            );
+            return ascending ? cb.or(laterValue, cb.isNull(field)) : laterValue;
+        };
+    }
+
+    // Continues right after a row already read, e.g. chunk by chunk within one request.
+    public Specification<Todo> after(TodoRow row, Sort sort) {
+        return after(encode(row, sort), sort);
+    }
+
+    public String encode(TodoRow row, Sort sort) {
+        Sort.Order order = primaryOrder(sort);
+        Object value = valueOf(row, order.getProperty());
+
+        String token = order.getProperty() + SEPARATOR + order.getDirection() + SEPARATOR + row.id();
+        if (value != null) {
+            token += SEPARATOR + value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Position decode(String cursor, Sort.Order order) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+
+        if (parts.length < 3) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (!order.getProperty().equals(parts[0]) || !order.getDirection().name().equals(parts[1])) {
+            throw new RuntimeException("Cursor does not match the requested sort");
+        }
+
+        try {
+            UUID id = UUID.fromString(parts[2]);
+            Comparable<?> value = parts.length == 4 ? parseValue(order.getProperty(), parts[3]) : null;
+            return new Position(value, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate beyond(CriteriaBuilder cb, Path<Comparable<Object>> field, Comparable value, boolean ascending) {
+        if (value instanceof Boolean flag) {
+            // Booleans have only two values, so "beyond" is either the other value or nothing.
+            if (ascending) {
+                return flag ? cb.disjunction() : cb.isTrue((Path) field);
+            }
+            return flag ? cb.isFalse((Path) field) : cb.disjunction();
+        }
+        return ascending ? cb.greaterThan((Path) field, value) : cb.lessThan((Path) field, value);
+    }
+
+    private Sort.Order primaryOrder(Sort sort) {
+        Sort.Order order = sort.stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Cursor pagination requires a sort field"));
+        if (TodoReadRepository.RELEVANCE_SORT.equals(order.getProperty())) {
+            throw new RuntimeException("Relevance sort is not supported with cursor pagination");
+        }
+        return order;
+    }
+
+    private Object valueOf(TodoRow row, String property) {
+        return switch (property) {
+            case "createdAt" -> row.createdAt();
+            case "updatedAt" -> row.updatedAt();
+            case "dueDate" -> row.dueDate();
+            case "priority" -> row.priority() != null ? row.priority().name() : null;
+            case "title" -> row.title();
+            case "rank" -> row.rank();
+            case "completed" -> row.completed();
+            default -> throw new RuntimeException("Unsupported sort field: " + property);
+        };
+    }
+
+    private Comparable<?> parseValue(String property, String value) {
+        return switch (property) {
+            case "createdAt", "updatedAt", "dueDate" -> LocalDateTime.parse(value);
+            case "priority" -> TodoPriority.valueOf(value);
+            case "title", "rank" -> value;
+            case "completed" -> Boolean.valueOf(value);
+            default -> throw new RuntimeException("Unsupported sort field: " + property);
+        };
+    }
+
+    private record Position(Comparable<?> value, UUID id) {
+    }
+}
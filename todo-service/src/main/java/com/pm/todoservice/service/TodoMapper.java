@@ -4,11 +4,14 @@ import com.pm.todoservice.dto.SubtaskDTO;
 import com.pm.todoservice.dto.TodoDTO;
 import com.pm.todoservice.model.Todo;
 import com.pm.todoservice.model.TodoSubtask;
+import com.pm.todoservice.repository.projection.SubtaskRow;
+import com.pm.todoservice.repository.projection.TodoRow;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,6 +25,7 @@ public class TodoMapper {
         dto.setCompleted(todo.getCompleted());
         dto.setUserId(todo.getUserId());
         dto.setSectionId(todo.getSectionId());
+        dto.setRank(todo.getRank());
         dto.setDueDate(todo.getDueDate());
         dto.setRemindAt(todo.getRemindAt());
         dto.setPriority(todo.getPriority());
@@ -39,6 +43,34 @@ public class TodoMapper {
         return dto;
     }
 
+    public TodoDTO toDto(TodoRow row, Set<String> tags, List<SubtaskRow> subtasks) {
+        TodoDTO dto = new TodoDTO();
+        dto.setId(row.id());
+        dto.setTitle(row.title());
+        dto.setDescription(row.description());
+        dto.setCompleted(row.completed());
+        dto.setUserId(row.userId());
+        dto.setSectionId(row.sectionId());
+        dto.setRank(row.rank());
+        dto.setDueDate(row.dueDate());
+        dto.setRemindAt(row.remindAt());
+        dto.setPriority(row.priority());
+        dto.setCategory(row.category());
+        dto.setTags(new HashSet<>(tags));
+        dto.setSubtasks(subtasks.stream()
+                .map(subtask -> new SubtaskDTO(subtask.id(), subtask.title(), subtask.completed()))
+                .collect(Collectors.toList()));
+        dto.setCompletedSubtasks(row.completedSubtasks() != null ? row.completedSubtasks().intValue() : 0);
+        dto.setTotalSubtasks(row.totalSubtasks() != null ? row.totalSubtasks().intValue() : 0);
+        dto.setProgressPercent(row.progressPercent() != null ? (int) Math.round(row.progressPercent()) : 0);
+        dto.setArchived(row.archived());
+        dto.setArchivedAt(row.archivedAt());
+        dto.setArchivedBy(row.archivedBy());
+        dto.setShared(false);
+        dto.setSharedWithUserIds(new ArrayList<>());
+        return dto;
+    }
+
     private List<SubtaskDTO> mapSubtasks(List<TodoSubtask> subtasks) {
         if (subtasks == null || subtasks.isEmpty()) {
             return new ArrayList<>();
@@ -1,5 +1,6 @@
 package com.pm.todoservice.service;
 
+import com.pm.todoservice.repository.TodoReadRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -12,23 +13,32 @@ public class TodoPageableFactory {
         if (page < 0) {
             throw new RuntimeException("Page must be greater than or equal to 0");
         }
+        validatePageSize(size);
+
+        return PageRequest.of(page, size, buildSort(sort));
+    }
+
+    public void validatePageSize(int size) {
         if (size < 1 || size > 100) {
             throw new RuntimeException("Size must be between 1 and 100");
         }
-
-        return PageRequest.of(page, size, buildSort(sort));
     }
 
     public Sort buildSort(String sort) {
         String[] sortParts = sort.split(",");
         String field = sortParts[0].trim();
-        String direction = sortParts.length > 1 ? sortParts[1].trim() : "asc";
+        boolean relevance = TodoReadRepository.RELEVANCE_SORT.equals(field);
+        String direction = sortParts.length > 1 ? sortParts[1].trim() : (relevance ? "desc" : "asc");
 
         if (!isAllowedSortField(field)) {
             throw new RuntimeException("Unsupported sort field: " + field);
         }
 
         Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (relevance) {
+            // Equal ranks are common for short titles; newest first keeps the order stable.
+            return Sort.by(sortDirection, field).and(Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
         return Sort.by(sortDirection, field);
     }
 
@@ -38,6 +48,8 @@ public class TodoPageableFactory {
                 || "dueDate".equals(field)
                 || "priority".equals(field)
                 || "title".equals(field)
-                || "completed".equals(field);
+                || "completed".equals(field)
+                || "rank".equals(field)
+                || TodoReadRepository.RELEVANCE_SORT.equals(field);
     }
 }
@@ -1,32 +1,49 @@
 package com.pm.todoservice.service;
 
+import com.pm.todoservice.dto.TodoCursorPageDTO;
 import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.dto.TodoFacetCountDTO;
+import com.pm.todoservice.dto.TodoFacetsDTO;
 import com.pm.todoservice.dto.TodoActivityDTO;
+import com.pm.todoservice.dto.TodoActivityPageDTO;
 import com.pm.todoservice.dto.TodoShareDTO;
-import com.pm.todoservice.model.Board;
 import com.pm.todoservice.model.Todo;
 import com.pm.todoservice.model.TodoShare;
-import com.pm.todoservice.model.enums.TodoSharePermission;
-import com.pm.todoservice.repository.BoardRepository;
-import com.pm.todoservice.repository.BoardSectionRepository;
+import com.pm.todoservice.repository.TodoReadRepository;
 import com.pm.todoservice.repository.TodoRepository;
 import com.pm.todoservice.repository.TodoShareRepository;
+import com.pm.todoservice.repository.projection.FacetCountRow;
+import com.pm.todoservice.repository.projection.SubtaskRow;
+import com.pm.todoservice.repository.projection.TodoRow;
 import com.pm.todoservice.security.AuthContext;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class TodoQueryService {
 
     private final TodoRepository todoRepository;
@@ -35,9 +52,12 @@ public class TodoQueryService {
     private final TodoMapper todoMapper;
     private final TodoActivityService todoActivityService;
     private final TodoShareRepository todoShareRepository;
-    private final BoardRepository boardRepository;
-    private final BoardSectionRepository boardSectionRepository;
-    private final BoardAccessService boardAccessService;
+    private final TodoAccessSpecifications accessSpecifications;
+    private final TodoReadRepository todoReadRepository;
+    private final TodoCursorPagination cursorPagination;
+    private final TodoSearchSpecifications searchSpecifications;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int streamBatchSize;
 
     public TodoQueryService(
             TodoRepository todoRepository,
@@ -46,9 +66,12 @@ public class TodoQueryService {
             TodoMapper todoMapper,
             TodoActivityService todoActivityService,
             TodoShareRepository todoShareRepository,
-            BoardRepository boardRepository,
-            BoardSectionRepository boardSectionRepository,
-            BoardAccessService boardAccessService
+            TodoAccessSpecifications accessSpecifications,
+            TodoReadRepository todoReadRepository,
+            TodoCursorPagination cursorPagination,
+            TodoSearchSpecifications searchSpecifications,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.todos.stream.batch-size:500}") int streamBatchSize
     ) {
         this.todoRepository = todoRepository;
         this.authorizationService = authorizationService;
@@ -56,9 +79,13 @@ public class TodoQueryService {
         this.todoMapper = todoMapper;
         this.todoActivityService = todoActivityService;
         this.todoShareRepository = todoShareRepository;
-        this.boardRepository = boardRepository;
-        this.boardSectionRepository = boardSectionRepository;
-        this.boardAccessService = boardAccessService;
+        this.accessSpecifications = accessSpecifications;
+        this.todoReadRepository = todoReadRepository;
+        this.cursorPagination = cursorPagination;
+        this.searchSpecifications = searchSpecifications;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamBatchSize = streamBatchSize;
     }
 
     public Page<TodoDTO> getAllTodos(
@@ -76,13 +103,46 @@ public class TodoQueryService {
         String normalizedTag = validationService.normalizeQueryFilter(tag);
         String normalizedSearch = validationService.normalizeQueryFilter(search);
 
-        Set<UUID> sharedTodoIds = authContext.isAdmin()
-                ? Set.of()
-                : todoShareRepository.findTodoIdsBySharedWithUserIdAndPermissionIn(
-                authContext.userId(),
-                List.of(TodoSharePermission.VIEW, TodoSharePermission.EDIT)
+        Specification<Todo> specification = buildSpecification(
+                authContext,
+                normalizedCategory,
+                normalizedTag,
+                completed,
+                archived,
+                normalizedSearch,
+                boardId,
+                sectionId
+        );
+
+        List<TodoRow> rows = todoReadRepository.findRows(
+                specification,
+                pageable.getSort(),
+                relevanceQuery(pageable.getSort(), normalizedSearch),
+                pageable.getOffset(),
+                pageable.getPageSize()
         );
-        Set<UUID> readableSectionIds = resolveReadableSectionIds(authContext);
+        List<TodoDTO> content = toDtos(rows);
+        enrichSharingMetadata(content);
+        return PageableExecutionUtils.getPage(content, pageable, () -> todoReadRepository.count(specification));
+    }
+
+    public TodoCursorPageDTO getTodosByCursor(
+            AuthContext authContext,
+            String category,
+            String tag,
+            Boolean completed,
+            Boolean archived,
+            String search,
+            UUID boardId,
+            UUID sectionId,
+            String cursor,
+            int size,
+            Sort sort,
+            boolean includeTotal
+    ) {
+        String normalizedCategory = validationService.normalizeQueryFilter(category);
+        String normalizedTag = validationService.normalizeQueryFilter(tag);
+        String normalizedSearch = validationService.normalizeQueryFilter(search);
 
         Specification<Todo> specification = buildSpecification(
                 authContext,
@@ -92,17 +152,32 @@ public class TodoQueryService {
                 archived,
                 normalizedSearch,
                 boardId,
-                sectionId,
-                sharedTodoIds,
-                readableSectionIds
+                sectionId
         );
 
-        Page<TodoDTO> page = todoRepository.findAll(specification, pageable).map(todoMapper::toDto);
-        enrichSharingMetadata(page.getContent());
-        return page;
+        Specification<Todo> pageSpecification = specification;
+        if (cursor != null && !cursor.isBlank()) {
+            pageSpecification = specification.and(cursorPagination.after(cursor.trim(), sort));
+        }
+
+        // One extra row tells whether another page exists without counting.
+        List<TodoRow> rows = todoReadRepository.findRows(pageSpecification, cursorPagination.keysetSort(sort), null, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        List<TodoDTO> items = toDtos(rows);
+        enrichSharingMetadata(items);
+
+        String nextCursor = hasNext ? cursorPagination.encode(rows.get(rows.size() - 1), sort) : null;
+        Long totalElements = includeTotal ? todoReadRepository.count(specification) : null;
+        return new TodoCursorPageDTO(items, nextCursor, hasNext, totalElements);
     }
 
-    public List<TodoDTO> getAllTodosList(
+    // Filters are validated and the visibility predicate planned on the calling thread, so bad input still fails
+    // before the response starts. The plan can then be streamed from another thread.
+    public TodoListPlan planTodoList(
             AuthContext authContext,
             String category,
             String tag,
@@ -116,13 +191,71 @@ public class TodoQueryService {
         String normalizedCategory = validationService.normalizeQueryFilter(category);
         String normalizedTag = validationService.normalizeQueryFilter(tag);
         String normalizedSearch = validationService.normalizeQueryFilter(search);
-        Set<UUID> sharedTodoIds = authContext.isAdmin()
-                ? Set.of()
-                : todoShareRepository.findTodoIdsBySharedWithUserIdAndPermissionIn(
-                authContext.userId(),
-                List.of(TodoSharePermission.VIEW, TodoSharePermission.EDIT)
+
+        Specification<Todo> specification = buildSpecification(
+                authContext,
+                normalizedCategory,
+                normalizedTag,
+                completed,
+                archived,
+                normalizedSearch,
+                boardId,
+                sectionId
         );
-        Set<UUID> readableSectionIds = resolveReadableSectionIds(authContext);
+        return new TodoListPlan(specification, sort, relevanceQuery(sort, normalizedSearch));
+    }
+
+    // Each chunk is read and enriched in its own short read-only transaction and handed to the consumer after it
+    // committed, so a slow client never holds a pooled connection. Chunks continue by keyset from the last row;
+    // relevance order has no keyset and continues by offset instead (search results only).
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamTodos(TodoListPlan plan, Consumer<List<TodoDTO>> batchConsumer) {
+        boolean keyset = plan.relevanceQuery() == null;
+        Sort sort = keyset ? cursorPagination.keysetSort(plan.sort()) : plan.sort();
+        TodoRow last = null;
+        long offset = 0;
+        while (true) {
+            Specification<Todo> specification = keyset && last != null
+                    ? plan.specification().and(cursorPagination.after(last, plan.sort()))
+                    : plan.specification();
+            long chunkOffset = offset;
+            List<TodoRow> rows = new ArrayList<>(streamBatchSize);
+            List<TodoDTO> todos = readOnlyTransaction.execute(status -> {
+                rows.addAll(todoReadRepository.findRows(specification, sort, plan.relevanceQuery(), chunkOffset, streamBatchSize));
+                List<TodoDTO> dtos = toDtos(rows);
+                enrichSharingMetadata(dtos);
+                return dtos;
+            });
+            if (rows.isEmpty()) {
+                return;
+            }
+            batchConsumer.accept(todos);
+            if (rows.size() < streamBatchSize) {
+                return;
+            }
+            last = rows.get(rows.size() - 1);
+            offset += rows.size();
+        }
+    }
+
+    public TodoFacetsDTO getTodoFacets(
+            AuthContext authContext,
+            String category,
+            String tag,
+            Boolean completed,
+            Boolean archived,
+            String search,
+            UUID boardId,
+            UUID sectionId,
+            int limit
+    ) {
+        if (limit < 1 || limit > 200) {
+            throw new RuntimeException("Limit must be between 1 and 200");
+        }
+
+        String normalizedCategory = validationService.normalizeQueryFilter(category);
+        String normalizedTag = validationService.normalizeQueryFilter(tag);
+        String normalizedSearch = validationService.normalizeQueryFilter(search);
 
         Specification<Todo> specification = buildSpecification(
                 authContext,
@@ -132,14 +265,13 @@ public class TodoQueryService {
                 archived,
                 normalizedSearch,
                 boardId,
-                sectionId,
-                sharedTodoIds,
-                readableSectionIds
+                sectionId
         );
 
-        List<TodoDTO> todos = todoRepository.findAll(specification, sort).stream().map(todoMapper::toDto).collect(Collectors.toList());
-        enrichSharingMetadata(todos);
-        return todos;
+        return new TodoFacetsDTO(
+                toFacetCounts(todoReadRepository.countByTag(specification, limit)),
+                toFacetCounts(todoReadRepository.countByCategory(specification, limit))
+        );
     }
 
     public TodoDTO getTodoById(UUID id, AuthContext authContext) {
@@ -150,6 +282,18 @@ public class TodoQueryService {
         return dto;
     }
 
+    // Current state of the given todos, silently skipping ids that no longer exist or are not readable.
+    public List<TodoDTO> findReadableTodos(Collection<UUID> ids, AuthContext authContext) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Specification<Todo> specification = accessSpecifications.readableBy(authContext)
+                .and((root, query, cb) -> root.get("id").in(ids));
+        List<TodoDTO> todos = toDtos(todoReadRepository.findRows(specification, Sort.unsorted(), null, 0, Integer.MAX_VALUE));
+        enrichSharingMetadata(todos);
+        return todos;
+    }
+
     public Todo getEntireTodoById(UUID id, AuthContext authContext) {
         Todo todo = findByIdOrThrow(id);
         authorizationService.validateReadAccess(todo, authContext);
@@ -158,6 +302,7 @@ public class TodoQueryService {
 
     public List<TodoDTO> getTodosByUserId(UUID userId, AuthContext authContext) {
         authorizationService.validateUserScope(userId, authContext, "You can only access your own todos");
+        // Entity path: tags and subtasks of all rows load in one batch each (@BatchSize on Todo), not per row.
         return todoRepository.findByUserId(userId).stream().map(todoMapper::toDto).collect(Collectors.toList());
     }
 
@@ -167,6 +312,12 @@ public class TodoQueryService {
         return todoActivityService.getTodoActivity(id);
     }
 
+    public TodoActivityPageDTO getTodoActivityPage(UUID id, String cursor, int size, String field, AuthContext authContext) {
+        Todo todo = findByIdOrThrow(id);
+        authorizationService.validateReadAccess(todo, authContext);
+        return todoActivityService.getTodoActivityPage(id, cursor, size, field);
+    }
+
     public List<TodoShareDTO> getTodoShares(UUID id, AuthContext authContext) {
         Todo todo = findByIdOrThrow(id);
         authorizationService.validateOwnership(todo, authContext);
@@ -190,66 +341,25 @@ public class TodoQueryService {
             Boolean archived,
             String search,
             UUID boardId,
-            UUID sectionId,
-            Set<UUID> sharedTodoIds,
-            Set<UUID> readableSectionIds
+            UUID sectionId
     ) {
-        Specification<Todo> specification = (root, query, cb) -> cb.conjunction();
-
-        if (!authContext.isAdmin()) {
-            specification = specification.and((root, query, cb) -> {
-                boolean hasSharedTodos = sharedTodoIds != null && !sharedTodoIds.isEmpty();
-                boolean hasSharedSections = readableSectionIds != null && !readableSectionIds.isEmpty();
-
-                if (!hasSharedTodos && !hasSharedSections) {
-                    return cb.equal(root.get("userId"), authContext.userId());
-                }
-
-                if (hasSharedTodos && hasSharedSections) {
-                    return cb.or(
-                            cb.equal(root.get("userId"), authContext.userId()),
-                            root.get("id").in(sharedTodoIds),
-                            root.get("sectionId").in(readableSectionIds)
-                    );
-                }
-
-                if (hasSharedTodos) {
-                    return cb.or(
-                            cb.equal(root.get("userId"), authContext.userId()),
-                            root.get("id").in(sharedTodoIds)
-                    );
-                }
-
-                return cb.or(
-                        cb.equal(root.get("userId"), authContext.userId()),
-                        root.get("sectionId").in(readableSectionIds)
-                );
-            });
-        }
-
-        if (boardId != null) {
-            Set<UUID> sectionIdsForBoard = boardSectionRepository.findIdsByBoardIdIn(Set.of(boardId));
-            if (sectionIdsForBoard.isEmpty()) {
-                specification = specification.and((root, query, cb) -> cb.disjunction());
-            } else {
-                specification = specification.and((root, query, cb) -> root.get("sectionId").in(sectionIdsForBoard));
-            }
-        }
-
-        if (sectionId != null) {
-            specification = specification.and((root, query, cb) -> cb.equal(root.get("sectionId"), sectionId));
-        }
+        // Visibility and board/section scope are planned together; see TodoAccessSpecifications.
+        Specification<Todo> specification = accessSpecifications.readableBy(authContext, boardId, sectionId);
 
         if (category != null) {
             specification = specification.and((root, query, cb) -> cb.equal(cb.lower(root.get("category")), category.toLowerCase()));
         }
 
         if (tag != null) {
+            // Tags are stored lowercased, so the (tag, todo_id) index serves this lookup directly.
+            String normalizedTag = tag.toLowerCase(Locale.ROOT);
             specification = specification.and((root, query, cb) -> {
-                Join<Todo, String> tagsJoin = root.join("tags", JoinType.INNER);
                 assert query != null;
-                query.distinct(true);
-                return cb.equal(cb.lower(tagsJoin), tag.toLowerCase());
+                Subquery<Integer> taggedTodo = query.subquery(Integer.class);
+                Root<Todo> todo = taggedTodo.correlate(root);
+                Join<Todo, String> tagsJoin = todo.join("tags", JoinType.INNER);
+                taggedTodo.select(cb.literal(1)).where(cb.equal(tagsJoin, normalizedTag));
+                return cb.exists(taggedTodo);
             });
         }
 
@@ -264,34 +374,47 @@ public class TodoQueryService {
         }
 
         if (search != null) {
-            String pattern = "%" + search.toLowerCase() + "%";
-            specification = specification.and((root, query, cb) ->
-                    cb.or(
-                            cb.like(cb.lower(root.get("title")), pattern),
-                            cb.like(cb.lower(root.get("description")), pattern)
-                    )
-            );
+            specification = specification.and(searchSpecifications.matching(search, authContext));
         }
 
         return specification;
     }
 
-    private Set<UUID> resolveReadableSectionIds(AuthContext authContext) {
-        if (authContext.isAdmin()) {
-            return Set.of();
+    private List<TodoDTO> toDtos(List<TodoRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
         }
 
-        Set<UUID> ownedBoardIds = boardRepository.findByOwnerUserId(authContext.userId()).stream()
-                .map(Board::getId)
+        Set<UUID> todoIds = rows.stream()
+                .map(TodoRow::id)
                 .collect(Collectors.toSet());
-        Set<UUID> sharedBoardIds = boardAccessService.getReadableBoardIds(authContext);
+        Map<UUID, Set<String>> tagsByTodoId = todoReadRepository.findTagsByTodoIds(todoIds);
+        Map<UUID, List<SubtaskRow>> subtasksByTodoId = todoReadRepository.findSubtasksByTodoIds(todoIds);
+
+        return rows.stream()
+                .map(row -> todoMapper.toDto(
+                        row,
+                        tagsByTodoId.getOrDefault(row.id(), Set.of()),
+                        subtasksByTodoId.getOrDefault(row.id(), List.of())
+                ))
+                .collect(Collectors.toList());
+    }
 
-        Set<UUID> allBoardIds = new java.util.HashSet<>(ownedBoardIds);
-        allBoardIds.addAll(sharedBoardIds);
-        if (allBoardIds.isEmpty()) {
-            return Set.of();
+    private List<TodoFacetCountDTO> toFacetCounts(List<FacetCountRow> rows) {
+        return rows.stream()
+                .map(row -> new TodoFacetCountDTO(row.value(), row.count()))
+                .collect(Collectors.toList());
+    }
+
+    private String relevanceQuery(Sort sort, String search) {
+        if (sort.getOrderFor(TodoReadRepository.RELEVANCE_SORT) == null) {
+            return null;
+        }
+        String prefixQuery = searchSpecifications.toPrefixQuery(search);
+        if (prefixQuery == null) {
+            throw new RuntimeException("Relevance sort requires a search term");
         }
-        return boardSectionRepository.findIdsByBoardIdIn(allBoardIds);
+        return prefixQuery;
     }
 
     private TodoShareDTO toShareDto(TodoShare share) {
@@ -326,4 +449,7 @@ public class TodoQueryService {
             todo.setSharedWithUserIds(sharedWith);
         }
     }
+
+    public record TodoListPlan(Specification<Todo> specification, Sort sort, String relevanceQuery) {
+    }
 }
@@ -0,0 +1,379 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.event.ChangeCommittedEvent;
+import com.pm.todoservice.model.enums.SyncEntityType;
+import com.pm.todoservice.repository.TodoReadRepository;
+import com.pm.todoservice.repository.projection.TodoSearchRow;
+import com.pm.todoservice.security.AuthContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Optional in-memory inverted index over title and description, the same fields the database full-text match
+// covers, so a search finds the same todos either way. Matches are narrowed to the caller's owned, shared and board
+// todos (per-owner and per-board doc lists, ACL from BoardAclCache) before the candidate cap, so other tenants'
+// todos never push a search over it. Visibility is still decided by the database query the candidates are fed
+// into. Every instance keeps its own copy, fed by the change_log rows of all instances (ChangeLogTailer): changed
+// todos are reloaded in batches, so the index trails the database by about two poll intervals.
+@Component
+public class TodoSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndex.class);
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final TodoReadRepository todoReadRepository;
+    private final BoardAclCache aclCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<UUID, Integer> docIdByTodoId = new HashMap<>();
+    private final List<UUID> todoIdByDocId = new ArrayList<>();
+    private final List<String[]> termsByDocId = new ArrayList<>();
+    private final List<UUID> ownerByDocId = new ArrayList<>();
+    private final List<UUID> boardByDocId = new ArrayList<>();
+    private final Map<UUID, PostingList> docsByOwner = new HashMap<>();
+    private final Map<UUID, PostingList> docsByBoard = new HashMap<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+
+    // Todos changed while the initial build runs; the build must not overwrite them with older rows.
+    private final Set<UUID> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingTodoIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    public TodoSearchIndex(
+            TodoReadRepository todoReadRepository,
+            BoardAclCache aclCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.in-memory-index.enabled:false}") boolean enabled,
+            @Value("${app.search.in-memory-index.max-candidates:5000}") int maxCandidates
+    ) {
+        this.todoReadRepository = todoReadRepository;
+        this.aclCache = aclCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Ids of the caller's todos whose words start with every search token. Empty when the index is not usable for
+    // this search (not built yet, no tokens, or too many candidates for an IN list); callers then query the database.
+    public Optional<Set<UUID>> search(String search, AuthContext authContext) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        List<String> tokens = TodoSearchSpecifications.tokenize(search);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // ACL lookups may load from the database, so they run before the lock is taken.
+        Set<UUID> boardIds = Set.of();
+        Set<UUID> sharedTodoIds = Set.of();
+        if (!authContext.isAdmin()) {
+            BoardAclCache.UserBoardAcl boardAcl = aclCache.boardAcl(authContext.userId());
+            boardIds = new HashSet<>(boardAcl.ownedBoardIds());
+            boardIds.addAll(boardAcl.sharedBoards().keySet());
+            sharedTodoIds = aclCache.todoShares(authContext.userId()).keySet();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Admins see every todo, so their matches start unscoped.
+            BitSet matches = authContext.isAdmin() ? null : scope(authContext.userId(), boardIds, sharedTodoIds);
+            if (matches != null && matches.isEmpty()) {
+                return Optional.of(Set.of());
+            }
+            for (String token : tokens) {
+                BitSet tokenMatches = new BitSet(todoIdByDocId.size());
+                for (PostingList postingList : prefixRange(token).values()) {
+                    postingList.addTo(tokenMatches);
+                }
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.and(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    return Optional.of(Set.of());
+                }
+            }
+
+            if (matches.cardinality() > maxCandidates) {
+                return Optional.empty();
+            }
+            Set<UUID> todoIds = new LinkedHashSet<>();
+            for (int docId = matches.nextSetBit(0); docId >= 0; docId = matches.nextSetBit(docId + 1)) {
+                todoIds.add(todoIdByDocId.get(docId));
+            }
+            return Optional.of(todoIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet scope(UUID userId, Set<UUID> boardIds, Set<UUID> sharedTodoIds) {
+        BitSet scope = new BitSet(todoIdByDocId.size());
+        PostingList owned = docsByOwner.get(userId);
+        if (owned != null) {
+            owned.addTo(scope);
+        }
+        for (UUID boardId : boardIds) {
+            PostingList boardDocs = docsByBoard.get(boardId);
+            if (boardDocs != null) {
+                boardDocs.addTo(scope);
+            }
+        }
+        for (UUID todoId : sharedTodoIds) {
+            Integer docId = docIdByTodoId.get(todoId);
+            if (docId != null) {
+                scope.set(docId);
+            }
+        }
+        return scope;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            Thread.ofVirtual().name("todo-search-index-build").start(this::build);
+        }
+    }
+
+    @EventListener
+    public void onChangeCommitted(ChangeCommittedEvent event) {
+        if (!enabled || event.entityType() != SyncEntityType.TODO) {
+            return;
+        }
+        if (building) {
+            changedDuringBuild.add(event.entityId());
+        }
+        if (event.deleted()) {
+            remove(event.entityId());
+        } else {
+            pendingTodoIds.add(event.entityId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-log.poll-interval:1s}")
+    public void refreshPending() {
+        if (!enabled || pendingTodoIds.isEmpty()) {
+            return;
+        }
+        List<UUID> todoIds = new ArrayList<>(pendingTodoIds);
+        pendingTodoIds.removeAll(todoIds);
+        try {
+            // Not read-only: a lagging replica could hand back the row from before the change.
+            List<TodoSearchRow> rows = transaction.execute(status -> todoReadRepository.findSearchRows(todoIds));
+            Set<UUID> found = new LinkedHashSet<>();
+            for (TodoSearchRow row : rows) {
+                found.add(row.id());
+                index(row);
+            }
+            todoIds.stream().filter(todoId -> !found.contains(todoId)).forEach(this::remove);
+        } catch (RuntimeException e) {
+            pendingTodoIds.addAll(todoIds);
+            log.warn("Refreshing {} todos in the search index failed; retrying", todoIds.size(), e);
+        }
+    }
+
+    private void build() {
+        building = true;
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TodoSearchRow> rows = todoReadRepository.streamSearchRows(BUILD_BATCH_SIZE)) {
+                    Iterator<TodoSearchRow> iterator = rows.iterator();
+                    List<TodoSearchRow> batch = new ArrayList<>(BUILD_BATCH_SIZE);
+                    while (iterator.hasNext()) {
+                        batch.add(iterator.next());
+                        if (batch.size() == BUILD_BATCH_SIZE || !iterator.hasNext()) {
+                            indexBatch(batch);
+                            batch = new ArrayList<>(BUILD_BATCH_SIZE);
+                        }
+                    }
+                }
+            });
+            ready = true;
+            log.info("Todo search index built with {} documents in {} ms",
+                    docIdByTodoId.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Todo search index build failed; search stays on the database", e);
+        } finally {
+            building = false;
+            changedDuringBuild.clear();
+        }
+    }
+
+    private void indexBatch(List<TodoSearchRow> batch) {
+        for (TodoSearchRow row : batch) {
+            if (changedDuringBuild.contains(row.id())) {
+                continue;
+            }
+            index(row);
+        }
+    }
+
+    private void index(TodoSearchRow row) {
+        UUID todoId = row.id();
+        String[] terms = terms(row.title(), row.description());
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdByTodoId.get(todoId);
+            if (docId == null) {
+                docId = freeDocIds.isEmpty() ? todoIdByDocId.size() : freeDocIds.pop();
+                if (docId == todoIdByDocId.size()) {
+                    todoIdByDocId.add(todoId);
+                    termsByDocId.add(terms);
+                    ownerByDocId.add(null);
+                    boardByDocId.add(null);
+                } else {
+                    todoIdByDocId.set(docId, todoId);
+                }
+                docIdByTodoId.put(todoId, docId);
+            } else {
+                removePostings(docId);
+            }
+
+            termsByDocId.set(docId, terms);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new PostingList()).add(docId);
+            }
+            ownerByDocId.set(docId, row.userId());
+            boardByDocId.set(docId, row.boardId());
+            addDoc(docsByOwner, row.userId(), docId);
+            addDoc(docsByBoard, row.boardId(), docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID todoId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdByTodoId.remove(todoId);
+            if (docId == null) {
+                return;
+            }
+            removePostings(docId);
+            todoIdByDocId.set(docId, null);
+            termsByDocId.set(docId, null);
+            ownerByDocId.set(docId, null);
+            boardByDocId.set(docId, null);
+            freeDocIds.push(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePostings(int docId) {
+        for (String term : termsByDocId.get(docId)) {
+            removeDoc(postings, term, docId);
+        }
+        removeDoc(docsByOwner, ownerByDocId.get(docId), docId);
+        removeDoc(docsByBoard, boardByDocId.get(docId), docId);
+    }
+
+    private static void addDoc(Map<UUID, PostingList> docsByKey, UUID key, int docId) {
+        if (key != null) {
+            docsByKey.computeIfAbsent(key, ignored -> new PostingList()).add(docId);
+        }
+    }
+
+    private static <K> void removeDoc(Map<K, PostingList> docsByKey, K key, int docId) {
+        if (key == null) {
+            return;
+        }
+        PostingList postingList = docsByKey.get(key);
+        if (postingList != null && postingList.remove(docId) && postingList.isEmpty()) {
+            docsByKey.remove(key);
+        }
+    }
+
+    private SortedMap<String, PostingList> prefixRange(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private String[] terms(String title, String description) {
+        Set<String> terms = new LinkedHashSet<>(TodoSearchSpecifications.tokenize(title));
+        terms.addAll(TodoSearchSpecifications.tokenize(description));
+        return terms.toArray(String[]::new);
+    }
+
+    // Sorted doc ids of one term, owner or board in a primitive array.
+    private static final class PostingList {
+
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+            System.arraycopy(docIds, insertAt, docIds, insertAt + 1, size - insertAt);
+            docIds[insertAt] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(docIds[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.config.TodoSearchFunctionContributor;
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.security.AuthContext;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+public class TodoSearchSpecifications {
+
+    private final TodoSearchIndex searchIndex;
+
+    public TodoSearchSpecifications(TodoSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    // Every word of the input must match the start of a word in title or description, e.g. "spr boot" -> "spr:* & boot:*".
+    public String toPrefixQuery(String search) {
+        String query = tokenize(search).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    public Specification<Todo> matching(String search, AuthContext authContext) {
+        Optional<Set<UUID>> candidates = searchIndex.search(search, authContext);
+        if (candidates.isPresent()) {
+            Set<UUID> todoIds = candidates.get();
+            return (root, query, cb) -> todoIds.isEmpty() ? cb.disjunction() : root.get("id").in(todoIds);
+        }
+
+        String prefixQuery = toPrefixQuery(search);
+        if (prefixQuery == null) {
+            // Input without any word characters cannot be expressed as a tsquery; keep substring matching for it.
+            String pattern = "%" + search.toLowerCase() + "%";
+            return (root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)
+            );
+        }
+
+        // value() binds the tsquery as a JDBC parameter; literal() would inline user text and make every search
+        // a distinct statement for the statement and plan caches.
+        return (root, query, cb) -> cb.isTrue(cb.function(
+                TodoSearchFunctionContributor.MATCH_FUNCTION,
+                Boolean.class,
+                root.get("title"),
+                root.get("description"),
+                ((HibernateCriteriaBuilder) cb).value(prefixQuery)
+        ));
+    }
+}
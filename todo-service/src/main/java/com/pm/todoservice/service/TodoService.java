@@ -1,9 +1,16 @@
 package com.pm.todoservice.service;
 
+import com.pm.todoservice.dto.SubtaskChangeDTO;
 import com.pm.todoservice.dto.SubtaskDTO;
 import com.pm.todoservice.dto.SubtaskPatchDTO;
 import com.pm.todoservice.dto.TodoActivityDTO;
+import com.pm.todoservice.dto.TodoActivityPageDTO;
+import com.pm.todoservice.dto.TodoBulkRequestDTO;
+import com.pm.todoservice.dto.TodoBulkResultDTO;
+import com.pm.todoservice.dto.TodoCursorPageDTO;
 import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.dto.TodoFacetsDTO;
+import com.pm.todoservice.dto.TodoMoveDTO;
 import com.pm.todoservice.dto.TodoPatchDTO;
 import com.pm.todoservice.dto.TodoShareDTO;
 import com.pm.todoservice.dto.TodoShareRequestDTO;
@@ -17,22 +24,33 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class TodoService {
 
     private final TodoCommandService commandService;
     private final TodoQueryService queryService;
+    private final TodoBulkCommandService bulkCommandService;
 
-    public TodoService(TodoCommandService commandService, TodoQueryService queryService) {
+    public TodoService(
+            TodoCommandService commandService,
+            TodoQueryService queryService,
+            TodoBulkCommandService bulkCommandService
+    ) {
         this.commandService = commandService;
         this.queryService = queryService;
+        this.bulkCommandService = bulkCommandService;
     }
 
     public TodoDTO createTodo(TodoDTO todoDTO, AuthContext authContext) {
         return commandService.createTodo(todoDTO, authContext);
     }
 
+    public List<TodoDTO> createTodos(List<TodoDTO> todoDTOs, AuthContext authContext) {
+        return commandService.createTodos(todoDTOs, authContext);
+    }
+
     public Page<TodoDTO> getAllTodos(
             AuthContext authContext,
             String category,
@@ -47,7 +65,26 @@ public class TodoService {
         return queryService.getAllTodos(authContext, category, tag, completed, archived, search, boardId, sectionId, pageable);
     }
 
-    public List<TodoDTO> getAllTodosList(
+    public TodoCursorPageDTO getTodosByCursor(
+            AuthContext authContext,
+            String category,
+            String tag,
+            Boolean completed,
+            Boolean archived,
+            String search,
+            UUID boardId,
+            UUID sectionId,
+            String cursor,
+            int size,
+            Sort sort,
+            boolean includeTotal
+    ) {
+        return queryService.getTodosByCursor(
+                authContext, category, tag, completed, archived, search, boardId, sectionId, cursor, size, sort, includeTotal
+        );
+    }
+
+    public TodoQueryService.TodoListPlan planTodoList(
             AuthContext authContext,
             String category,
             String tag,
@@ -58,7 +95,25 @@ public class TodoService {
             UUID sectionId,
             Sort sort
     ) {
-        return queryService.getAllTodosList(authContext, category, tag, completed, archived, search, boardId, sectionId, sort);
+        return queryService.planTodoList(authContext, category, tag, completed, archived, search, boardId, sectionId, sort);
+    }
+
+    public void streamTodos(TodoQueryService.TodoListPlan plan, Consumer<List<TodoDTO>> batchConsumer) {
+        queryService.streamTodos(plan, batchConsumer);
+    }
+
+    public TodoFacetsDTO getTodoFacets(
+            AuthContext authContext,
+            String category,
+            String tag,
+            Boolean completed,
+            Boolean archived,
+            String search,
+            UUID boardId,
+            UUID sectionId,
+            int limit
+    ) {
+        return queryService.getTodoFacets(authContext, category, tag, completed, archived, search, boardId, sectionId, limit);
     }
 
     public TodoDTO getTodoById(UUID id, AuthContext authContext) {
@@ -81,10 +136,18 @@ public class TodoService {
         return commandService.patchTodo(id, patchDTO, authContext);
     }
 
+    public TodoDTO moveTodo(UUID id, TodoMoveDTO moveDTO, AuthContext authContext) {
+        return commandService.moveTodo(id, moveDTO, authContext);
+    }
+
     public void deleteTodo(UUID id, AuthContext authContext) {
         commandService.deleteTodo(id, authContext);
     }
 
+    public TodoBulkResultDTO applyBulk(TodoBulkRequestDTO requestDTO, AuthContext authContext) {
+        return bulkCommandService.applyBulk(requestDTO, authContext);
+    }
+
     public long deleteAllTodosByUserId(UUID userId, AuthContext authContext) {
         return commandService.deleteAllTodosByUserId(userId, authContext);
     }
@@ -93,14 +156,26 @@ public class TodoService {
         return commandService.addSubtask(todoId, subtaskDTO, authContext);
     }
 
+    public SubtaskChangeDTO addSubtaskSummary(UUID todoId, SubtaskDTO subtaskDTO, AuthContext authContext) {
+        return commandService.addSubtaskSummary(todoId, subtaskDTO, authContext);
+    }
+
     public TodoDTO patchSubtask(UUID todoId, UUID subtaskId, SubtaskPatchDTO patchDTO, AuthContext authContext) {
         return commandService.patchSubtask(todoId, subtaskId, patchDTO, authContext);
     }
 
+    public SubtaskChangeDTO patchSubtaskSummary(UUID todoId, UUID subtaskId, SubtaskPatchDTO patchDTO, AuthContext authContext) {
+        return commandService.patchSubtaskSummary(todoId, subtaskId, patchDTO, authContext);
+    }
+
     public TodoDTO deleteSubtask(UUID todoId, UUID subtaskId, AuthContext authContext) {
         return commandService.deleteSubtask(todoId, subtaskId, authContext);
     }
 
+    public SubtaskChangeDTO deleteSubtaskSummary(UUID todoId, UUID subtaskId, AuthContext authContext) {
+        return commandService.deleteSubtaskSummary(todoId, subtaskId, authContext);
+    }
+
     public TodoDTO archiveTodo(UUID id, AuthContext authContext) {
         return commandService.archiveTodo(id, authContext);
     }
@@ -113,6 +188,10 @@ public class TodoService {
         return queryService.getTodoActivity(id, authContext);
     }
 
+    public TodoActivityPageDTO getTodoActivityPage(UUID id, String cursor, int size, String field, AuthContext authContext) {
+        return queryService.getTodoActivityPage(id, cursor, size, field, authContext);
+    }
+
     public List<TodoShareDTO> getTodoShares(UUID id, AuthContext authContext) {
         return queryService.getTodoShares(id, authContext);
     }
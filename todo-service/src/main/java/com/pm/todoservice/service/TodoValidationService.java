@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 @Service
@@ -56,7 +57,7 @@ public class TodoValidationService {
             if (tag == null) {
                 continue;
             }
-            String normalizedTag = tag.trim();
+            String normalizedTag = tag.trim().toLowerCase(Locale.ROOT);
             if (normalizedTag.isEmpty()) {
                 continue;
             }
@@ -90,6 +91,7 @@ public class TodoValidationService {
             String title = normalizeSubtaskTitle(subtaskDTO.getTitle());
             boolean completed = subtaskDTO.getCompleted() != null && subtaskDTO.getCompleted();
             TodoSubtask subtask = new TodoSubtask(title, completed);
+            subtask.setPosition((normalizedSubtasks.size() + 1) * TodoSubtask.POSITION_GAP);
             if (subtaskDTO.getId() != null) {
                 subtask.setId(subtaskDTO.getId());
             }
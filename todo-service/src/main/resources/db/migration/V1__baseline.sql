@@ -0,0 +1,78 @@
+-- Schema as previously generated by Hibernate ddl-auto. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate), so this script only runs against an empty schema.
+
+CREATE TABLE IF NOT EXISTS boards (
+    id            UUID         NOT NULL PRIMARY KEY,
+    name          VARCHAR(150) NOT NULL,
+    owner_user_id UUID         NOT NULL,
+    archived      BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS board_sections (
+    id       UUID         NOT NULL PRIMARY KEY,
+    board_id UUID         NOT NULL,
+    name     VARCHAR(120) NOT NULL,
+    position INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS board_shares (
+    id                  UUID         NOT NULL PRIMARY KEY,
+    board_id            UUID         NOT NULL,
+    shared_with_user_id UUID         NOT NULL,
+    permission          VARCHAR(20)  NOT NULL,
+    created_by          UUID         NOT NULL,
+    created_at          TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_board_share_board_user UNIQUE (board_id, shared_with_user_id)
+);
+
+CREATE TABLE IF NOT EXISTS todos (
+    id          UUID          NOT NULL PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    completed   BOOLEAN       NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6),
+    user_id     UUID,
+    section_id  UUID,
+    due_date    TIMESTAMP(6),
+    remind_at   TIMESTAMP(6),
+    priority    VARCHAR(255),
+    category    VARCHAR(100),
+    archived    BOOLEAN,
+    archived_at TIMESTAMP(6),
+    archived_by UUID
+);
+
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id UUID NOT NULL REFERENCES todos (id),
+    tag     VARCHAR(50)
+);
+
+CREATE TABLE IF NOT EXISTS todo_subtasks (
+    id                UUID         NOT NULL PRIMARY KEY,
+    subtask_title     VARCHAR(255) NOT NULL,
+    subtask_completed BOOLEAN      NOT NULL,
+    todo_id           UUID REFERENCES todos (id),
+    position          INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS todo_shares (
+    id                  UUID         NOT NULL PRIMARY KEY,
+    todo_id             UUID         NOT NULL,
+    shared_with_user_id UUID         NOT NULL,
+    permission          VARCHAR(20)  NOT NULL,
+    created_by          UUID         NOT NULL,
+    created_at          TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_todo_share_todo_user UNIQUE (todo_id, shared_with_user_id)
+);
+
+CREATE TABLE IF NOT EXISTS todo_activity (
+    id            UUID          NOT NULL PRIMARY KEY,
+    todo_id       UUID          NOT NULL,
+    action        VARCHAR(50)   NOT NULL,
+    actor_user_id UUID,
+    details       VARCHAR(2000),
+    created_at    TIMESTAMP(6)  NOT NULL
+);
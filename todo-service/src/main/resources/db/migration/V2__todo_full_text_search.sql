@@ -0,0 +1,6 @@
+-- Expression index for todo search. The expression must stay identical to the document used by
+-- TodoSearchFunctionContributor, otherwise the planner cannot use the index.
+CREATE INDEX IF NOT EXISTS idx_todos_search_document ON todos USING GIN (
+    (setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B'))
+);
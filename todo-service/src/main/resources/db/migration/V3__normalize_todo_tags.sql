@@ -0,0 +1,15 @@
+-- Tags are now lowercased on write; bring existing rows in line and drop case-only duplicates.
+DELETE FROM todo_tags WHERE tag IS NULL;
+
+DELETE FROM todo_tags duplicate
+USING todo_tags kept
+WHERE duplicate.todo_id = kept.todo_id
+  AND lower(duplicate.tag) = lower(kept.tag)
+  AND duplicate.ctid > kept.ctid;
+
+UPDATE todo_tags SET tag = lower(tag) WHERE tag <> lower(tag);
+
+ALTER TABLE todo_tags ALTER COLUMN tag SET NOT NULL;
+
+-- Serves tag filters (tag = ? -> todo ids) and tag facets; also prevents duplicate tags per todo.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_todo_tags_tag_todo ON todo_tags (tag, todo_id);
@@ -0,0 +1,51 @@
+-- Indexes for the list/authorization queries (TodoQueryService, TodoAccessSpecifications, BoardAclCache).
+-- CONCURRENTLY keeps writes flowing on large tables; Flyway runs this script outside a transaction.
+-- If a build fails, drop the INVALID index before re-running, since IF NOT EXISTS would skip it.
+
+-- Own todos, default listing: user_id = ? AND archived = ? ORDER BY created_at DESC (id breaks ties for cursors).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_archived_created
+    ON todos (user_id, archived, created_at DESC, id DESC);
+
+-- Own todos sorted by last change.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_archived_updated
+    ON todos (user_id, archived, updated_at DESC, id DESC);
+
+-- Open work of a user (completed = false is the most common filter), newest first.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_open_created
+    ON todos (user_id, created_at DESC)
+    WHERE completed = false AND archived = false;
+
+-- Upcoming deadlines; most todos have no due date, so keep them out of the index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_due_date
+    ON todos (user_id, due_date, id)
+    WHERE due_date IS NOT NULL AND archived = false;
+
+-- Category filter compares lower(category).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_category
+    ON todos (user_id, lower(category))
+    WHERE category IS NOT NULL;
+
+-- Board/section listings and the "section_id IN (sections of readable boards)" visibility path.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_section_archived_created
+    ON todos (section_id, archived, created_at DESC, id DESC)
+    WHERE section_id IS NOT NULL;
+
+-- Tags of a page of todos (the unique (tag, todo_id) index only serves lookups by tag).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tags_todo
+    ON todo_tags (todo_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_subtasks_todo_position
+    ON todo_subtasks (todo_id, position);
+
+-- Todos shared with a user; permission included so the visibility subquery is index-only.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_shares_user_todo
+    ON todo_shares (shared_with_user_id, todo_id) INCLUDE (permission);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_boards_owner
+    ON boards (owner_user_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_sections_board_position
+    ON board_sections (board_id, position);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_board_shares_user_board
+    ON board_shares (shared_with_user_id, board_id) INCLUDE (permission);
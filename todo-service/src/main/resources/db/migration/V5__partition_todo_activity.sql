@@ -0,0 +1,48 @@
+-- Rebuild todo_activity as a table range-partitioned by month on created_at. Retention then drops whole
+-- partitions (TodoActivityPartitionMaintenance) instead of running DELETEs.
+
+ALTER TABLE todo_activity RENAME TO todo_activity_legacy;
+ALTER TABLE todo_activity_legacy RENAME CONSTRAINT todo_activity_pkey TO todo_activity_legacy_pkey;
+
+CREATE TABLE todo_activity (
+    id            UUID          NOT NULL,
+    todo_id       UUID          NOT NULL,
+    action        VARCHAR(50)   NOT NULL,
+    actor_user_id UUID,
+    details       VARCHAR(2000),
+    created_at    TIMESTAMP(6)  NOT NULL,
+    -- The partition key has to be part of the primary key.
+    CONSTRAINT todo_activity_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the pre-created months so inserts never fail.
+CREATE TABLE todo_activity_default PARTITION OF todo_activity DEFAULT;
+
+-- Keyset-paginated history per todo: todo_id = ? ORDER BY created_at DESC, id DESC.
+CREATE INDEX idx_todo_activity_todo_created ON todo_activity (todo_id, created_at DESC, id DESC);
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := date_trunc('month', now())::date + INTERVAL '3 months';
+BEGIN
+    SELECT coalesce(date_trunc('month', min(created_at))::date, date_trunc('month', now())::date)
+    INTO month_start
+    FROM todo_activity_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF todo_activity FOR VALUES FROM (%L) TO (%L)',
+            'todo_activity_' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::date
+        );
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO todo_activity (id, todo_id, action, actor_user_id, details, created_at)
+SELECT id, todo_id, action, actor_user_id, details, created_at
+FROM todo_activity_legacy;
+
+DROP TABLE todo_activity_legacy;
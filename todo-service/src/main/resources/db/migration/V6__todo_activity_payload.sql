@@ -0,0 +1,3 @@
+-- Structured activity payload (field diffs, share changes) replacing free-text details on new rows.
+-- Old rows keep their details text; the column stays so history remains readable.
+ALTER TABLE todo_activity ADD COLUMN IF NOT EXISTS payload JSONB;
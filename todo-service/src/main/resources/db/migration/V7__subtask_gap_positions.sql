@@ -0,0 +1,10 @@
+-- Subtasks were ordered by a dense @OrderColumn (0..n-1), so removing one renumbered every later row.
+-- Positions become sparse bigints with a fixed gap: appends take max + gap and deletes leave holes.
+
+DELETE FROM todo_subtasks WHERE todo_id IS NULL;
+
+ALTER TABLE todo_subtasks ALTER COLUMN position TYPE BIGINT;
+UPDATE todo_subtasks SET position = (coalesce(position, 0) + 1) * 1024;
+ALTER TABLE todo_subtasks ALTER COLUMN position SET NOT NULL;
+ALTER TABLE todo_subtasks ALTER COLUMN todo_id SET NOT NULL;
+-- idx_todo_subtasks_todo_position (V4) is rebuilt by the type change and serves both ordering and max(position).
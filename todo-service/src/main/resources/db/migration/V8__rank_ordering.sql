@@ -0,0 +1,27 @@
+-- Fractional order keys (see RankKeys) for sections within a board and todos within a section.
+-- COLLATE "C" makes the database compare keys byte-wise, exactly like String.compareTo.
+
+ALTER TABLE board_sections ADD COLUMN IF NOT EXISTS rank VARCHAR(128) COLLATE "C";
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS rank VARCHAR(128) COLLATE "C";
+
+-- Backfill: fixed-width hex keys are valid keys (hex digits are a prefix of the key alphabet);
+-- trailing zeros are trimmed because keys must not end in '0'.
+UPDATE board_sections s
+SET rank = rtrim(lpad(to_hex(ordered.n * 1048576), 12, '0'), '0')
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY board_id ORDER BY position, id) AS n
+    FROM board_sections
+) ordered
+WHERE s.id = ordered.id;
+
+UPDATE todos t
+SET rank = rtrim(lpad(to_hex(ordered.n * 1048576), 12, '0'), '0')
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY section_id ORDER BY created_at, id) AS n
+    FROM todos
+    WHERE section_id IS NOT NULL
+) ordered
+WHERE t.id = ordered.id;
+
+CREATE INDEX IF NOT EXISTS idx_board_sections_board_rank ON board_sections (board_id, rank);
+CREATE INDEX IF NOT EXISTS idx_todos_section_rank ON todos (section_id, rank) WHERE section_id IS NOT NULL;
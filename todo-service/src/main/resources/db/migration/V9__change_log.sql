@@ -0,0 +1,39 @@
+-- Change feed for delta sync (ChangeLogRecorder / SyncService). One row per changed todo, board or section per
+-- transaction; clients poll with the last (txid, seq) they saw. Rows carry only enough to decide who may be told.
+
+CREATE SEQUENCE IF NOT EXISTS change_log_seq;
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq              BIGINT       NOT NULL,
+    -- Writing transaction (pg_current_xact_id); readers only return rows of transactions older than the oldest
+    -- one still running, so a row can never appear behind a position a client has already passed.
+    txid             BIGINT       NOT NULL,
+    entity_type      VARCHAR(20)  NOT NULL,
+    entity_id        UUID         NOT NULL,
+    -- Todo owner; null for boards and sections.
+    owner_user_id    UUID,
+    -- Board the entity belongs to (for todos: the board of their section, if any).
+    board_id         UUID,
+    -- Set when a single user's access changed (share added or removed).
+    audience_user_id UUID,
+    deleted          BOOLEAN      NOT NULL DEFAULT FALSE,
+    changed_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT change_log_pkey PRIMARY KEY (seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_changed_at ON change_log (changed_at);
+-- One keyset path per way a row can concern a user (SyncService reads them as a UNION ALL); the last serves admins.
+CREATE INDEX IF NOT EXISTS idx_change_log_owner_position ON change_log (owner_user_id, txid, seq);
+CREATE INDEX IF NOT EXISTS idx_change_log_audience_position ON change_log (audience_user_id, txid, seq);
+CREATE INDEX IF NOT EXISTS idx_change_log_board_position ON change_log (board_id, txid, seq);
+CREATE INDEX IF NOT EXISTS idx_change_log_todo_position ON change_log (entity_id, txid, seq) WHERE entity_type = 'TODO';
+CREATE INDEX IF NOT EXISTS idx_change_log_position ON change_log (txid, seq);
+
+-- Highest txid removed by retention; tokens at or below it must resync from scratch.
+CREATE TABLE IF NOT EXISTS change_log_watermark (
+    id             SMALLINT NOT NULL,
+    pruned_through BIGINT   NOT NULL,
+    CONSTRAINT change_log_watermark_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO change_log_watermark (id, pruned_through) VALUES (1, 0) ON CONFLICT DO NOTHING;
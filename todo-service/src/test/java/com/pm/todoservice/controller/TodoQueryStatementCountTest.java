@@ -0,0 +1,122 @@
+package com.pm.todoservice.controller;
+
+import com.pm.todoservice.dto.SubtaskDTO;
+import com.pm.todoservice.dto.TodoDTO;
+import com.pm.todoservice.security.AuthContext;
+import com.pm.todoservice.security.AuthContextArgumentResolver;
+import com.pm.todoservice.service.TodoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement counts of the list endpoints must not grow with the number of todos: tags, subtasks and sharing
+// metadata are read per page, not per row. Each measurement uses a fresh user, so ACL caches start cold every time.
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keep scheduled jobs from issuing statements while a request is measured.
+        "app.change-log.poll-interval=1h",
+        "app.ranking.rebalance-interval=1h"
+})
+class TodoQueryStatementCountTest {
+
+    private static final int FEW = 2;
+    private static final int MANY = 25;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void warmUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // The first request of the context may initialize lazily created state; it is not measured.
+        UUID userId = userWithTodos(1);
+        statementsFor("/api/todos?size=100", userId);
+        statementsFor("/api/todos/user/" + userId, userId);
+    }
+
+    @Test
+    void todoPageUsesTheSameStatementsForAnyPageSize() throws Exception {
+        UUID fewTodosUser = userWithTodos(FEW);
+        UUID manyTodosUser = userWithTodos(MANY);
+
+        long few = statementsFor("/api/todos?size=100", fewTodosUser);
+        long many = statementsFor("/api/todos?size=100", manyTodosUser);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void todosByUserUseTheSameStatementsForAnyNumberOfTodos() throws Exception {
+        UUID fewTodosUser = userWithTodos(FEW);
+        UUID manyTodosUser = userWithTodos(MANY);
+
+        long few = statementsFor("/api/todos/user/" + fewTodosUser, fewTodosUser);
+        long many = statementsFor("/api/todos/user/" + manyTodosUser, manyTodosUser);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long statementsFor(String uri, UUID userId) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(uri)
+                        .header(AuthContextArgumentResolver.USER_ID_HEADER, userId.toString())
+                        .header(AuthContextArgumentResolver.USER_ROLE_HEADER, "USER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").exists());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Every todo has tags and subtasks, so a per-row lazy load would show up in the count.
+    private UUID userWithTodos(int count) {
+        UUID userId = UUID.randomUUID();
+        AuthContext authContext = new AuthContext(userId, "USER");
+        for (int i = 0; i < count; i++) {
+            TodoDTO todo = new TodoDTO();
+            todo.setTitle("Todo " + i);
+            todo.setTags(Set.of("work", "tag-" + i));
+            todo.setSubtasks(List.of(new SubtaskDTO(null, "First", false), new SubtaskDTO(null, "Second", true)));
+            todoService.createTodo(todo, authContext);
+        }
+        return userId;
+    }
+}
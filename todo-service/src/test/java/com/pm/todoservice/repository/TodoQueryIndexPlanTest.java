@@ -0,0 +1,114 @@
+package com.pm.todoservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Plans of the list and authorization queries against a schema migrated by Flyway (V1-V9). Tables are empty, so
+// sequential scans are priced out (enable_seqscan = off) and the test checks that each filter shape can use an
+// index at all. Where two indexes serve a shape equally well, either is accepted.
+@Testcontainers(disabledWithoutDocker = true)
+class TodoQueryIndexPlanTest {
+
+    private static final String USER_ID = "'00000000-0000-0000-0000-000000000001'";
+    private static final String BOARD_ID = "'00000000-0000-0000-0000-000000000002'";
+    private static final String TODO_IDS = "'{00000000-0000-0000-0000-000000000003,00000000-0000-0000-0000-000000000004}'::uuid[]";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        // One session, so the planner setting applies to every EXPLAIN below.
+        dataSource = new SingleConnectionDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("own todos, default listing",
+                        "SELECT id FROM todos WHERE user_id = " + USER_ID + " AND archived = false "
+                                + "ORDER BY created_at DESC, id DESC LIMIT 20",
+                        List.of("idx_todos_user_archived_created")),
+                Arguments.of("own todos by last change",
+                        "SELECT id FROM todos WHERE user_id = " + USER_ID + " AND archived = false "
+                                + "ORDER BY updated_at DESC, id DESC LIMIT 20",
+                        List.of("idx_todos_user_archived_updated")),
+                Arguments.of("open todos",
+                        "SELECT id FROM todos WHERE user_id = " + USER_ID + " AND completed = false AND archived = false "
+                                + "ORDER BY created_at DESC LIMIT 20",
+                        List.of("idx_todos_user_open_created", "idx_todos_user_archived_created")),
+                Arguments.of("upcoming deadlines",
+                        "SELECT id FROM todos WHERE user_id = " + USER_ID + " AND due_date IS NOT NULL AND archived = false "
+                                + "ORDER BY due_date, id LIMIT 20",
+                        List.of("idx_todos_user_due_date")),
+                Arguments.of("category filter",
+                        "SELECT id FROM todos WHERE user_id = " + USER_ID + " AND category IS NOT NULL "
+                                + "AND lower(category) = 'work'",
+                        List.of("idx_todos_user_category")),
+                Arguments.of("board listing",
+                        "SELECT id FROM todos WHERE section_id IN (SELECT id FROM board_sections WHERE board_id = " + BOARD_ID + ") "
+                                + "AND archived = false ORDER BY created_at DESC, id DESC LIMIT 20",
+                        List.of("idx_todos_section_archived_created", "idx_todos_section_rank")),
+                Arguments.of("sections of a board",
+                        "SELECT id FROM board_sections WHERE board_id = " + BOARD_ID + " ORDER BY position",
+                        List.of("idx_board_sections_board_position", "idx_board_sections_board_rank")),
+                Arguments.of("tags of a page",
+                        "SELECT todo_id, tag FROM todo_tags WHERE todo_id = ANY(" + TODO_IDS + ")",
+                        List.of("idx_todo_tags_todo")),
+                Arguments.of("subtasks of a page",
+                        "SELECT todo_id, position FROM todo_subtasks WHERE todo_id = ANY(" + TODO_IDS + ") "
+                                + "ORDER BY todo_id, position",
+                        List.of("idx_todo_subtasks_todo_position")),
+                Arguments.of("todos shared with a user",
+                        "SELECT todo_id FROM todo_shares WHERE shared_with_user_id = " + USER_ID
+                                + " AND permission IN ('VIEW', 'EDIT')",
+                        List.of("idx_todo_shares_user_todo")),
+                Arguments.of("boards shared with a user",
+                        "SELECT board_id FROM board_shares WHERE shared_with_user_id = " + USER_ID
+                                + " AND permission IN ('VIEW', 'EDIT')",
+                        List.of("idx_board_shares_user_board")),
+                Arguments.of("owned boards",
+                        "SELECT id FROM boards WHERE owner_user_id = " + USER_ID,
+                        List.of("idx_boards_owner"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryUsesItsIndex(String shape, String query, List<String> expectedIndexes) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+
+        assertThat(plan).doesNotContain("Seq Scan");
+        assertThat(expectedIndexes).anySatisfy(index -> assertThat(plan).contains(index));
+    }
+}
@@ -0,0 +1,113 @@
+package com.pm.todoservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    private final RankKeys rankKeys = new RankKeys();
+
+    @Test
+    void firstKeyOfAnEmptyListIsOneDigit() {
+        assertThat(rankKeys.between(null, null)).isEqualTo("i");
+    }
+
+    @Test
+    void appendedKeySortsAfterTheLastKey() {
+        String key = rankKeys.between("i", null);
+
+        assertThat(key).isGreaterThan("i");
+        assertValidKey(key);
+    }
+
+    @Test
+    void prependedKeySortsBeforeTheFirstKey() {
+        String key = rankKeys.between(null, "i");
+
+        assertThat(key).isLessThan("i");
+        assertValidKey(key);
+    }
+
+    @Test
+    void keyBetweenAdjacentKeysExtendsTheShorterOne() {
+        String key = rankKeys.between("a", "a1");
+
+        assertThat(key).isGreaterThan("a").isLessThan("a1");
+        assertValidKey(key);
+    }
+
+    @Test
+    void keysThatAreNotInOrderAreRejected() {
+        assertThatThrownBy(() -> rankKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rankKeys.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void randomInsertsKeepOrderAndNeverEndInZero() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position > 0 ? keys.get(position - 1) : null;
+            String after = position < keys.size() ? keys.get(position) : null;
+            String key = rankKeys.between(before, after);
+
+            if (before != null) {
+                assertThat(key).isGreaterThan(before);
+            }
+            if (after != null) {
+                assertThat(key).isLessThan(after);
+            }
+            assertValidKey(key);
+            keys.add(position, key);
+        }
+    }
+
+    // Always inserting at the head is the worst case: keys grow until RankService has to renumber the container.
+    @Test
+    void repeatedHeadInsertsAskForRebalanceBeforeReachingMaxLength() {
+        String first = rankKeys.between(null, null);
+        int rebalanceLength = 0;
+        while (first.length() <= RankKeys.MAX_LENGTH) {
+            String key = rankKeys.between(null, first);
+            assertThat(key).isLessThan(first);
+            assertValidKey(key);
+            if (rebalanceLength == 0 && rankKeys.needsRebalance(key)) {
+                rebalanceLength = key.length();
+            }
+            first = key;
+        }
+
+        assertThat(rebalanceLength).isPositive().isLessThan(RankKeys.MAX_LENGTH);
+        assertThat(first.length()).isGreaterThan(RankKeys.MAX_LENGTH);
+        assertThat(rankKeys.needsRebalance(first)).isTrue();
+    }
+
+    @Test
+    void evenlySpacedKeysAreOrderedShortAndLeaveRoomBetween() {
+        for (int count : new int[] {1, 35, 36, 1000, 50_000}) {
+            List<String> keys = rankKeys.evenlySpaced(count);
+
+            assertThat(keys).hasSize(count).doesNotHaveDuplicates().isSorted();
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                assertValidKey(key);
+                assertThat(rankKeys.needsRebalance(key)).isFalse();
+                if (i > 0) {
+                    assertThat(rankKeys.between(keys.get(i - 1), key)).isGreaterThan(keys.get(i - 1)).isLessThan(key);
+                }
+            }
+        }
+    }
+
+    private static void assertValidKey(String key) {
+        assertThat(key).isNotEmpty().doesNotEndWith("0");
+        assertThat(key.chars()).allMatch(c -> RankKeys.DIGITS.indexOf(c) >= 0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pm.todoservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TodoActivityWriterTest {
+
+    @Test
+    void entriesWrittenByTheCallerWhenTheQueueIsFullAreCommitted() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        Connection workerConnection = connection();
+        Connection outerConnection = connection();
+        Connection fallbackConnection = connection();
+        Deque<Connection> callerConnections = new ArrayDeque<>();
+        callerConnections.add(outerConnection);
+        callerConnections.add(fallbackConnection);
+
+        // The background writer blocks on its first connection, so nothing drains the queue during the test.
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("todo-activity-writer")) {
+                workerBusy.countDown();
+                releaseWorker.await();
+                return workerConnection;
+            }
+            return callerConnections.removeFirst();
+        });
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TodoActivityWriter writer = new TodoActivityWriter(
+                new JdbcTemplate(dataSource),
+                transactionManager,
+                new SimpleMeterRegistry(),
+                1,
+                200,
+                Duration.ofMillis(10),
+                Duration.ofMillis(1),
+                Duration.ofSeconds(5)
+        );
+
+        try {
+            writer.submit(entry());
+            assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+            writer.submit(entry());
+
+            // Same shape as TodoActivityService: the entry is submitted from afterCommit of the caller's transaction.
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            writer.submit(entry());
+                        }
+                    }));
+
+            verify(outerConnection).commit();
+            verify(outerConnection, never()).prepareStatement(anyString());
+            verify(fallbackConnection).prepareStatement(anyString());
+            verify(fallbackConnection).commit();
+        } finally {
+            releaseWorker.countDown();
+            writer.destroy();
+        }
+    }
+
+    private static Connection connection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.getConnection()).thenReturn(connection);
+        return connection;
+    }
+
+    private static TodoActivityWriter.Entry entry() {
+        return new TodoActivityWriter.Entry(UUID.randomUUID(), UUID.randomUUID(), "UPDATED", UUID.randomUUID(), null,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,237 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.dto.TodoBulkItemResultDTO;
+import com.pm.todoservice.dto.TodoBulkRequestDTO;
+import com.pm.todoservice.dto.TodoBulkResultDTO;
+import com.pm.todoservice.exception.ForbiddenException;
+import com.pm.todoservice.model.enums.TodoBulkItemStatus;
+import com.pm.todoservice.model.enums.TodoBulkOperation;
+import com.pm.todoservice.repository.TodoReadRepository;
+import com.pm.todoservice.repository.TodoRepository;
+import com.pm.todoservice.repository.projection.TodoBulkTargetRow;
+import com.pm.todoservice.security.AuthContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TodoBulkCommandServiceTest {
+
+    private final AuthContext authContext = new AuthContext(UUID.randomUUID(), "USER");
+
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final TodoReadRepository todoReadRepository = mock(TodoReadRepository.class);
+    private final TodoAccessSpecifications accessSpecifications = mock(TodoAccessSpecifications.class);
+    private final BoardAccessService boardAccessService = mock(BoardAccessService.class);
+    private final TodoActivityService todoActivityService = mock(TodoActivityService.class);
+    private final RankService rankService = mock(RankService.class);
+    private final ChangeLogRecorder changeLogRecorder = mock(ChangeLogRecorder.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final TodoBulkCommandService service = new TodoBulkCommandService(
+            todoRepository,
+            todoReadRepository,
+            accessSpecifications,
+            boardAccessService,
+            new TodoValidationService(),
+            todoActivityService,
+            new TodoActivityDiff(),
+            rankService,
+            changeLogRecorder,
+            eventPublisher
+    );
+
+    @Test
+    void eachIdIsClassifiedInRequestOrder() {
+        UUID missing = UUID.randomUUID();
+        TodoBulkTargetRow notAllowed = row(null, false, false, false);
+        TodoBulkTargetRow alreadyCompleted = row(null, true, false, true);
+        TodoBulkTargetRow open = row(null, false, false, true);
+        targets(notAllowed, alreadyCompleted, open);
+
+        TodoBulkResultDTO result = service.applyBulk(
+                request(TodoBulkOperation.COMPLETE, missing, notAllowed.id(), alreadyCompleted.id(), open.id()),
+                authContext
+        );
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(TodoBulkItemResultDTO::getStatus).containsExactly(
+                TodoBulkItemStatus.NOT_FOUND,
+                TodoBulkItemStatus.FORBIDDEN,
+                TodoBulkItemStatus.UNCHANGED,
+                TodoBulkItemStatus.UPDATED
+        );
+        verify(accessSpecifications).editableBy(authContext);
+        verify(todoRepository).updateCompleted(eq(List.of(open.id())), eq(true), any());
+    }
+
+    @Test
+    void reopenAndRestoreOnlyUpdateTodosInTheOtherState() {
+        TodoBulkTargetRow completedArchived = row(null, true, true, true);
+        TodoBulkTargetRow openActive = row(null, false, false, true);
+        targets(completedArchived, openActive);
+
+        TodoBulkResultDTO reopened = service.applyBulk(
+                request(TodoBulkOperation.REOPEN, completedArchived.id(), openActive.id()), authContext);
+        TodoBulkResultDTO restored = service.applyBulk(
+                request(TodoBulkOperation.RESTORE, completedArchived.id(), openActive.id()), authContext);
+
+        assertThat(reopened.getResults()).extracting(TodoBulkItemResultDTO::getStatus)
+                .containsExactly(TodoBulkItemStatus.UPDATED, TodoBulkItemStatus.UNCHANGED);
+        assertThat(restored.getResults()).extracting(TodoBulkItemResultDTO::getStatus)
+                .containsExactly(TodoBulkItemStatus.UPDATED, TodoBulkItemStatus.UNCHANGED);
+        verify(todoRepository).updateCompleted(eq(List.of(completedArchived.id())), eq(false), any());
+        verify(todoRepository).restoreAll(eq(List.of(completedArchived.id())), any());
+    }
+
+    @Test
+    void deleteIsLimitedToOwnedTodos() {
+        TodoBulkTargetRow owned = row(null, false, false, true);
+        targets(owned);
+
+        service.applyBulk(request(TodoBulkOperation.DELETE, owned.id()), authContext);
+
+        verify(accessSpecifications).ownedBy(authContext);
+        verify(accessSpecifications, never()).editableBy(any());
+        verify(todoRepository).deleteAllByIds(List.of(owned.id()));
+    }
+
+    @Test
+    void nothingIsWrittenWhenNoTodoChanges() {
+        TodoBulkTargetRow archived = row(null, false, true, true);
+        targets(archived);
+
+        TodoBulkResultDTO result = service.applyBulk(request(TodoBulkOperation.ARCHIVE, archived.id()), authContext);
+
+        assertThat(result.getUpdated()).isZero();
+        verify(todoRepository, never()).archiveAll(any(), any(), any());
+        verifyNoInteractions(todoActivityService, eventPublisher);
+    }
+
+    @Test
+    void moveRequiresATargetSection() {
+        assertThatThrownBy(() -> service.applyBulk(request(TodoBulkOperation.MOVE, UUID.randomUUID()), authContext))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("sectionId");
+        verifyNoInteractions(todoReadRepository);
+    }
+
+    @Test
+    void moveIsRejectedWithoutEditAccessToTheTargetBoard() {
+        UUID targetSectionId = UUID.randomUUID();
+        doThrow(new ForbiddenException("no edit access"))
+                .when(boardAccessService).validateEditSection(targetSectionId, authContext);
+        TodoBulkRequestDTO request = request(TodoBulkOperation.MOVE, UUID.randomUUID());
+        request.setSectionId(targetSectionId);
+
+        assertThatThrownBy(() -> service.applyBulk(request, authContext)).isInstanceOf(ForbiddenException.class);
+        verifyNoInteractions(todoReadRepository, todoRepository);
+    }
+
+    @Test
+    void moveChecksEditAccessToEachSourceSectionOnce() {
+        UUID targetSectionId = UUID.randomUUID();
+        UUID readOnlySectionId = UUID.randomUUID();
+        UUID readOnlyBoardId = UUID.randomUUID();
+        TodoBulkTargetRow firstInReadOnlySection = row(readOnlySectionId, false, false, true);
+        TodoBulkTargetRow secondInReadOnlySection = row(readOnlySectionId, false, false, true);
+        TodoBulkTargetRow alreadyInTarget = row(targetSectionId, false, false, true);
+        TodoBulkTargetRow outsideBoards = row(null, false, false, true);
+        targets(firstInReadOnlySection, secondInReadOnlySection, alreadyInTarget, outsideBoards);
+        when(boardAccessService.findBoardIdForSection(readOnlySectionId)).thenReturn(Optional.of(readOnlyBoardId));
+        when(boardAccessService.canEditBoard(readOnlyBoardId, authContext)).thenReturn(false);
+        TodoBulkRequestDTO request = request(
+                TodoBulkOperation.MOVE,
+                firstInReadOnlySection.id(),
+                secondInReadOnlySection.id(),
+                alreadyInTarget.id(),
+                outsideBoards.id()
+        );
+        request.setSectionId(targetSectionId);
+
+        TodoBulkResultDTO result = service.applyBulk(request, authContext);
+
+        assertThat(result.getResults()).extracting(TodoBulkItemResultDTO::getStatus).containsExactly(
+                TodoBulkItemStatus.FORBIDDEN,
+                TodoBulkItemStatus.FORBIDDEN,
+                TodoBulkItemStatus.UNCHANGED,
+                TodoBulkItemStatus.UPDATED
+        );
+        verify(boardAccessService).validateEditSection(targetSectionId, authContext);
+        verify(boardAccessService, times(1)).findBoardIdForSection(readOnlySectionId);
+        verify(todoRepository).moveAll(eq(List.of(outsideBoards.id())), eq(targetSectionId), any());
+        verify(rankService).requestSectionRebalance(targetSectionId);
+        verify(changeLogRecorder).recordTodoLeftSection(outsideBoards.id(), outsideBoards.userId(), null);
+    }
+
+    @Test
+    void addTagsLeavesTodosThatAlreadyHaveEveryTagUnchanged() {
+        TodoBulkTargetRow hasAll = row(null, false, false, true);
+        TodoBulkTargetRow hasSome = row(null, false, false, true);
+        TodoBulkTargetRow hasNone = row(null, false, false, true);
+        targets(hasAll, hasSome, hasNone);
+        Map<UUID, Set<String>> tags = new HashMap<>();
+        tags.put(hasAll.id(), Set.of("work", "urgent", "home"));
+        tags.put(hasSome.id(), Set.of("work"));
+        when(todoReadRepository.findTagsByTodoIds(any())).thenReturn(tags);
+        TodoBulkRequestDTO request = request(TodoBulkOperation.ADD_TAGS, hasAll.id(), hasSome.id(), hasNone.id());
+        // Compared after normalization.
+        request.setTags(Set.of(" Work", "URGENT "));
+
+        TodoBulkResultDTO result = service.applyBulk(request, authContext);
+
+        assertThat(result.getResults()).extracting(TodoBulkItemResultDTO::getStatus).containsExactly(
+                TodoBulkItemStatus.UNCHANGED,
+                TodoBulkItemStatus.UPDATED,
+                TodoBulkItemStatus.UPDATED
+        );
+        verify(todoRepository).addTag(List.of(hasSome.id(), hasNone.id()), "work");
+        verify(todoRepository).addTag(List.of(hasSome.id(), hasNone.id()), "urgent");
+        verify(todoRepository).touchAll(eq(List.of(hasSome.id(), hasNone.id())), any());
+    }
+
+    @Test
+    void addTagsRequiresAtLeastOneTag() {
+        TodoBulkRequestDTO request = request(TodoBulkOperation.ADD_TAGS, UUID.randomUUID());
+        request.setTags(Set.of(" "));
+
+        assertThatThrownBy(() -> service.applyBulk(request, authContext))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("tags");
+        verify(todoRepository, never()).updateCompleted(any(), anyBoolean(), any());
+        verifyNoInteractions(todoReadRepository);
+    }
+
+    private void targets(TodoBulkTargetRow... rows) {
+        when(todoReadRepository.findBulkTargets(any(), any())).thenReturn(List.of(rows));
+    }
+
+    private static TodoBulkTargetRow row(UUID sectionId, boolean completed, boolean archived, boolean allowed) {
+        return new TodoBulkTargetRow(UUID.randomUUID(), UUID.randomUUID(), sectionId, completed, archived, allowed);
+    }
+
+    private static TodoBulkRequestDTO request(TodoBulkOperation operation, UUID... ids) {
+        TodoBulkRequestDTO request = new TodoBulkRequestDTO();
+        request.setOperation(operation);
+        request.setIds(List.of(ids));
+        return request;
+    }
+}
@@ -0,0 +1,276 @@
+package com.pm.todoservice.service;
+
+import com.pm.todoservice.model.Todo;
+import com.pm.todoservice.model.enums.TodoPriority;
+import com.pm.todoservice.repository.projection.TodoRow;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoCursorPaginationTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 9, 0);
+    private static final int PAGE_SIZE = 3;
+
+    private final TodoCursorPagination pagination = new TodoCursorPagination();
+
+    // Duplicate values and nulls in every sortable column, so pages break inside runs of equal values.
+    private final List<TodoRow> rows = List.of(
+            row("a", null, TodoPriority.HIGH, false, "i", T0, T0),
+            row("b", T0.plusDays(1), TodoPriority.LOW, true, "j", T0, T0.plusHours(1)),
+            row("b", T0.plusDays(1), TodoPriority.MEDIUM, false, null, T0.plusMinutes(5), T0.plusHours(1)),
+            row("c", null, TodoPriority.MEDIUM, true, "k", T0.plusMinutes(5), T0.plusHours(2)),
+            row("d", T0.plusDays(2), null, false, "k", T0.plusMinutes(10), T0.plusHours(2)),
+            row("e", null, TodoPriority.LOW, false, null, T0.plusMinutes(10), T0.plusHours(3)),
+            row("f", T0.plusDays(3), TodoPriority.HIGH, true, "l", T0.plusMinutes(15), T0.plusHours(4)),
+            row("f", T0.plusDays(2), TodoPriority.LOW, false, "m", T0.plusMinutes(20).plusSeconds(30), T0.plusHours(5))
+    );
+
+    static Stream<Arguments> sorts() {
+        return Stream.of("createdAt", "updatedAt", "dueDate", "priority", "title", "rank", "completed")
+                .flatMap(property -> Stream.of(
+                        Arguments.of(property, Sort.Direction.ASC),
+                        Arguments.of(property, Sort.Direction.DESC)
+                ));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sorts")
+    void cursorsVisitEveryRowOnceInKeysetOrder(String property, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        List<TodoRow> expected = rows.stream().sorted(keysetOrder(property, direction)).toList();
+
+        List<TodoRow> visited = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page <= rows.size(); page++) {
+            List<TodoRow> next = page(cursor, sort, property, direction);
+            if (next.isEmpty()) {
+                break;
+            }
+            visited.addAll(next);
+            cursor = pagination.encode(next.get(next.size() - 1), sort);
+        }
+
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void ascendingDueDateCursorOnANullRowContinuesOnlyWithinNulls() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "dueDate");
+        List<TodoRow> nulls = rows.stream()
+                .filter(row -> row.dueDate() == null)
+                .sorted(keysetOrder("dueDate", Sort.Direction.ASC))
+                .toList();
+
+        List<TodoRow> after = matching(pagination.after(nulls.get(0), sort));
+
+        assertThat(after).containsExactlyInAnyOrderElementsOf(nulls.subList(1, nulls.size()));
+    }
+
+    @Test
+    void descendingDueDateCursorOnTheLastNullRowContinuesWithDatedRows() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "dueDate");
+        List<TodoRow> nulls = rows.stream()
+                .filter(row -> row.dueDate() == null)
+                .sorted(keysetOrder("dueDate", Sort.Direction.DESC))
+                .toList();
+
+        List<TodoRow> after = matching(pagination.after(nulls.get(nulls.size() - 1), sort));
+
+        assertThat(after).containsExactlyInAnyOrderElementsOf(rows.stream().filter(row -> row.dueDate() != null).toList());
+    }
+
+    @Test
+    void completedCursorOnTheLastOfAValueContinuesWithTheOtherValue() {
+        TodoRow lastOpen = rows.stream()
+                .filter(row -> !row.completed())
+                .max(keysetOrder("completed", Sort.Direction.ASC))
+                .orElseThrow();
+        TodoRow lastDone = rows.stream()
+                .filter(TodoRow::completed)
+                .max(keysetOrder("completed", Sort.Direction.DESC))
+                .orElseThrow();
+
+        assertThat(matching(pagination.after(lastOpen, Sort.by(Sort.Direction.ASC, "completed"))))
+                .allMatch(TodoRow::completed)
+                .hasSize((int) rows.stream().filter(TodoRow::completed).count());
+        assertThat(matching(pagination.after(lastDone, Sort.by(Sort.Direction.DESC, "completed"))))
+                .noneMatch(TodoRow::completed)
+                .hasSize((int) rows.stream().filter(row -> !row.completed()).count());
+    }
+
+    @Test
+    void cursorIsRejectedForAnotherDirection() {
+        String cursor = pagination.encode(rows.get(0), Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertThatThrownBy(() -> pagination.after(cursor, Sort.by(Sort.Direction.ASC, "createdAt")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cursor does not match the requested sort");
+    }
+
+    @Test
+    void cursorIsRejectedForAnotherField() {
+        String cursor = pagination.encode(rows.get(0), Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertThatThrownBy(() -> pagination.after(cursor, Sort.by(Sort.Direction.DESC, "updatedAt")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Cursor does not match the requested sort");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> pagination.after("not a cursor", Sort.by(Sort.Direction.DESC, "createdAt")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void keysetSortBreaksTiesByIdInTheSameDirection() {
+        Sort keyset = pagination.keysetSort(Sort.by(Sort.Direction.DESC, "dueDate"));
+
+        assertThat(keyset).containsExactly(Sort.Order.desc("dueDate"), Sort.Order.desc("id"));
+    }
+
+    private List<TodoRow> page(String cursor, Sort sort, String property, Sort.Direction direction) {
+        Stream<TodoRow> candidates = cursor == null ? rows.stream() : matching(pagination.after(cursor, sort)).stream();
+        return candidates.sorted(keysetOrder(property, direction)).limit(PAGE_SIZE).toList();
+    }
+
+    private List<TodoRow> matching(Specification<Todo> specification) {
+        InMemoryCriteria criteria = new InMemoryCriteria();
+        Predicate predicate = specification.toPredicate(criteria.root(), null, criteria.builder());
+        return rows.stream().filter(row -> criteria.test(predicate, row)).toList();
+    }
+
+    // The order the database returns for the keyset sort: nulls last ascending and first descending, id as tiebreaker.
+    private static Comparator<TodoRow> keysetOrder(String property, Sort.Direction direction) {
+        Comparator<TodoRow> ascending = Comparator
+                .comparing((TodoRow row) -> value(row, property), Comparator.nullsLast(InMemoryCriteria::compare))
+                .thenComparing(TodoRow::id, InMemoryCriteria::compare);
+        return direction.isAscending() ? ascending : ascending.reversed();
+    }
+
+    private static Object value(TodoRow row, String property) {
+        try {
+            for (RecordComponent component : TodoRow.class.getRecordComponents()) {
+                if (component.getName().equals(property)) {
+                    return component.getAccessor().invoke(row);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalArgumentException("No TodoRow field " + property);
+    }
+
+    private static TodoRow row(
+            String title,
+            LocalDateTime dueDate,
+            TodoPriority priority,
+            boolean completed,
+            String rank,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        return new TodoRow(UUID.randomUUID(), title, null, completed, UUID.randomUUID(), null, rank, dueDate, null,
+                priority, null, false, null, null, createdAt, updatedAt, 0L, 0L, 0.0);
+    }
+
+    // Evaluates the criteria calls TodoCursorPagination makes against TodoRow values, with SQL semantics: a comparison
+    // involving NULL is false. Enums compare by name (EnumType.STRING) and ids as unsigned bytes, like PostgreSQL.
+    private static final class InMemoryCriteria {
+
+        private final Map<Object, Function<TodoRow, Object>> paths = new IdentityHashMap<>();
+        private final Map<Object, java.util.function.Predicate<TodoRow>> predicates = new IdentityHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Root<Todo> root() {
+            return (Root<Todo>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Root.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("get") || !(args[0] instanceof String property)) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Path<?> path = (Path<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Path.class}, (p, m, a) -> {
+                    throw new UnsupportedOperationException(m.getName());
+                });
+                paths.put(path, row -> value(row, property));
+                return path;
+            });
+        }
+
+        CriteriaBuilder builder() {
+            return (CriteriaBuilder) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CriteriaBuilder.class}, (proxy, method, args) ->
+                    predicate(switch (method.getName()) {
+                        case "greaterThan" -> row -> compares(path(args[0]).apply(row), args[1], order -> order > 0);
+                        case "lessThan" -> row -> compares(path(args[0]).apply(row), args[1], order -> order < 0);
+                        case "equal" -> row -> compares(path(args[0]).apply(row), args[1], order -> order == 0);
+                        case "isNull" -> row -> path(args[0]).apply(row) == null;
+                        case "isNotNull" -> row -> path(args[0]).apply(row) != null;
+                        case "isTrue" -> row -> Boolean.TRUE.equals(path(args[0]).apply(row));
+                        case "isFalse" -> row -> Boolean.FALSE.equals(path(args[0]).apply(row));
+                        case "disjunction" -> row -> false;
+                        case "and" -> row -> operands(args).stream().allMatch(operand -> test(operand, row));
+                        case "or" -> row -> operands(args).stream().anyMatch(operand -> test(operand, row));
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }));
+        }
+
+        boolean test(Object predicate, TodoRow row) {
+            return predicates.get(predicate).test(row);
+        }
+
+        private Predicate predicate(java.util.function.Predicate<TodoRow> test) {
+            Predicate predicate = (Predicate) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Predicate.class}, (p, m, a) -> {
+                throw new UnsupportedOperationException(m.getName());
+            });
+            predicates.put(predicate, test);
+            return predicate;
+        }
+
+        private Function<TodoRow, Object> path(Object expression) {
+            return paths.get(expression);
+        }
+
+        private static List<Object> operands(Object[] args) {
+            return args.length == 1 && args[0] instanceof Object[] array ? List.of(array) : List.of(args);
+        }
+
+        private static boolean compares(Object left, Object right, IntPredicate test) {
+            return left != null && right != null && test.test(compare(left, right));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static int compare(Object left, Object right) {
+            if (left instanceof Enum<?> || right instanceof Enum<?>) {
+                return String.valueOf(left instanceof Enum<?> e ? e.name() : left)
+                        .compareTo(String.valueOf(right instanceof Enum<?> e ? e.name() : right));
+            }
+            if (left instanceof UUID || right instanceof UUID) {
+                return left.toString().compareTo(right.toString());
+            }
+            return ((Comparable) left).compareTo(right);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.pm.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.pool.connections-per-core:2}") int connectionsPerCore
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // Core-derived default; an explicit spring.datasource.hikari.maximum-pool-size is bound afterwards and wins.
+        dataSource.setMaximumPoolSize(Runtime.getRuntime().availableProcessors() * connectionsPerCore + 1);
+        return dataSource;
+    }
+}